@@ -0,0 +1,80 @@
+package com.ticketing.benchmark;
+
+import com.ticketing.model.User;
+import com.ticketing.security.AuthTokenFilter;
+import com.ticketing.security.JwtUtils;
+import com.ticketing.security.TokenRevocationRegistry;
+import com.ticketing.security.UserPrincipalCache;
+import com.ticketing.service.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through AuthTokenFilter: header parsing, JWT verification, principal
+ * resolution and populating the security context. "lookup" resolves the principal through the
+ * cache (always a hit here, so it measures the cached path); "stateless" builds it from claims.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthTokenFilterBenchmark {
+    @Param({"lookup", "stateless"})
+    public String principal;
+
+    private AuthTokenFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() throws Exception {
+        boolean stateless = principal.equals("stateless");
+        JwtUtils jwtUtils = JwtUtilsBenchmark.newJwtUtils(stateless);
+        User user = JwtUtilsBenchmark.benchmarkUser();
+        authorization = "Bearer " + jwtUtils.generateJwtToken(JwtUtilsBenchmark.authenticationFor(user));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        UserPrincipalCache userPrincipalCache = new UserPrincipalCache();
+        ReflectionTestUtils.setField(userPrincipalCache, "userDetailsService", new UserDetailsServiceImpl() {
+            @Override
+            public UserDetails loadUserByUsername(String username) {
+                return user;
+            }
+        });
+        ReflectionTestUtils.setField(userPrincipalCache, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(userPrincipalCache, "maxSize", 10_000L);
+        ReflectionTestUtils.setField(userPrincipalCache, "ttlSeconds", 3600L);
+        userPrincipalCache.init();
+
+        // No revocations recorded, so every check is a map miss as in steady state
+        TokenRevocationRegistry tokenRevocationRegistry = new TokenRevocationRegistry();
+
+        filter = new AuthTokenFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "userPrincipalCache", userPrincipalCache);
+        ReflectionTestUtils.setField(filter, "tokenRevocationRegistry", tokenRevocationRegistry);
+        ReflectionTestUtils.setField(filter, "meterRegistry", meterRegistry);
+        filter.initMetrics();
+    }
+
+    @Benchmark
+    public Object authenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tickets");
+        request.addHeader("Authorization", authorization);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
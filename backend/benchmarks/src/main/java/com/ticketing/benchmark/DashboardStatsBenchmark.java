@@ -0,0 +1,103 @@
+package com.ticketing.benchmark;
+
+import com.ticketing.model.Priority;
+import com.ticketing.model.Role;
+import com.ticketing.model.Status;
+import com.ticketing.model.Ticket;
+import com.ticketing.model.User;
+import com.ticketing.service.DashboardStatsService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/admin/stats aggregation. "legacy" reproduces the original AdminController.getDashboardStats,
+ * which loaded every user and ticket and counted them with one stream pass per figure (the loading
+ * itself is not measured here, only the in-memory part). "counters" is DashboardStatsService, which
+ * keeps running totals; "counterUpdate" is the cost it adds to each status change.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DashboardStatsBenchmark {
+    @Param({"1000", "100000"})
+    public int tickets;
+
+    private List<User> allUsers;
+    private List<Ticket> allTickets;
+    private DashboardStatsService dashboardStatsService;
+
+    @Setup
+    public void setUp() {
+        Role[] roles = Role.values();
+        Status[] statuses = Status.values();
+        Priority[] priorities = Priority.values();
+        dashboardStatsService = new DashboardStatsService();
+
+        allUsers = new ArrayList<>();
+        for (int i = 0; i < Math.max(10, tickets / 20); i++) {
+            Role role = roles[i % roles.length];
+            User user = new User("user" + i, "user" + i + "@ticketdesk.com", "{noop}password", "First", "Last", role);
+            user.setId((long) i);
+            allUsers.add(user);
+            // No transaction is active, so the counters are updated immediately
+            dashboardStatsService.userCreated(role);
+        }
+
+        allTickets = new ArrayList<>(tickets);
+        for (int i = 0; i < tickets; i++) {
+            Priority priority = priorities[i % priorities.length];
+            Ticket ticket = new Ticket("Subject " + i, "Description", priority, allUsers.get(i % allUsers.size()));
+            ticket.setStatus(statuses[i % statuses.length]);
+            allTickets.add(ticket);
+            dashboardStatsService.ticketCreated(ticket.getStatus(), priority);
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> legacy() {
+        long userCount = allUsers.size();
+        long adminCount = allUsers.stream().filter(u -> u.getRole() == Role.ADMIN).count();
+        long supportAgentCount = allUsers.stream().filter(u -> u.getRole() == Role.SUPPORT_AGENT).count();
+        long regularUserCount = allUsers.stream().filter(u -> u.getRole() == Role.USER).count();
+
+        long totalTickets = allTickets.size();
+        long openTickets = allTickets.stream().filter(t -> t.getStatus() == Status.OPEN).count();
+        long inProgressTickets = allTickets.stream().filter(t -> t.getStatus() == Status.IN_PROGRESS).count();
+        long resolvedTickets = allTickets.stream().filter(t -> t.getStatus() == Status.RESOLVED).count();
+        long closedTickets = allTickets.stream().filter(t -> t.getStatus() == Status.CLOSED).count();
+
+        return Map.of(
+            "users", Map.of(
+                "total", userCount,
+                "admins", adminCount,
+                "supportAgents", supportAgentCount,
+                "regularUsers", regularUserCount
+            ),
+            "tickets", Map.of(
+                "total", totalTickets,
+                "open", openTickets,
+                "inProgress", inProgressTickets,
+                "resolved", resolvedTickets,
+                "closed", closedTickets
+            )
+        );
+    }
+
+    @Benchmark
+    public Map<String, Object> counters() {
+        return dashboardStatsService.getDashboardStats();
+    }
+
+    @Benchmark
+    public void counterUpdate() {
+        dashboardStatsService.ticketStatusChanged(Status.OPEN, Status.IN_PROGRESS);
+        dashboardStatsService.ticketStatusChanged(Status.IN_PROGRESS, Status.OPEN);
+    }
+}
@@ -0,0 +1,85 @@
+package com.ticketing.benchmark;
+
+import com.ticketing.model.Role;
+import com.ticketing.model.User;
+import com.ticketing.security.JwtPrincipalClaims;
+import com.ticketing.security.JwtUtils;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation and validation throughput. The legacy* methods reproduce the previous JwtUtils,
+ * which derived the HMAC key and built a new parser on every call and parsed each token twice per
+ * request, so one run gives both the before and after numbers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilsBenchmark {
+    static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256-signing";
+
+    private JwtUtils jwtUtils;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = newJwtUtils(false);
+        authentication = authenticationFor(benchmarkUser());
+        token = jwtUtils.generateJwtToken(authentication);
+    }
+
+    static JwtUtils newJwtUtils(boolean statelessPrincipal) {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3_600_000);
+        ReflectionTestUtils.setField(jwtUtils, "statelessPrincipal", statelessPrincipal);
+        jwtUtils.init();
+        return jwtUtils;
+    }
+
+    static User benchmarkUser() {
+        User user = new User("agent", "agent@ticketdesk.com", "{noop}password", "Support", "Agent", Role.SUPPORT_AGENT);
+        user.setId(42L);
+        return user;
+    }
+
+    static Authentication authenticationFor(User user) {
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public JwtPrincipalClaims parseToken() {
+        return jwtUtils.parseToken(token);
+    }
+
+    @Benchmark
+    public String legacyParse() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+    }
+
+    @Benchmark
+    public String legacyValidateThenParse() {
+        Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build().parseClaimsJws(token);
+        return legacyParse();
+    }
+}
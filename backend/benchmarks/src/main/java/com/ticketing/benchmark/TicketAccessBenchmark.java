@@ -0,0 +1,77 @@
+package com.ticketing.benchmark;
+
+import com.ticketing.model.Priority;
+import com.ticketing.model.Role;
+import com.ticketing.model.Ticket;
+import com.ticketing.model.User;
+import com.ticketing.service.TicketService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TicketService.canUserAccessTicket per role, alone and over a list of tickets as the SSE fan-out
+ * and per-ticket endpoints use it. Half of the tickets belong to (or are assigned to) the caller.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketAccessBenchmark {
+    @Param({"ADMIN", "SUPPORT_AGENT", "USER"})
+    public Role role;
+
+    @Param({"1000"})
+    public int tickets;
+
+    private TicketService ticketService;
+    private User caller;
+    private Ticket ticket;
+    private List<Ticket> ticketList;
+
+    @Setup
+    public void setUp() {
+        ticketService = new TicketService();
+        caller = user(1L, role);
+        User otherUser = user(2L, Role.USER);
+        User otherAgent = user(3L, Role.SUPPORT_AGENT);
+
+        ticketList = new ArrayList<>(tickets);
+        for (int i = 0; i < tickets; i++) {
+            boolean own = i % 2 == 0;
+            // Fresh User instances with the same id, as separately loaded entities would be
+            Ticket t = new Ticket("Subject " + i, "Description", Priority.MEDIUM,
+                    own && role == Role.USER ? user(1L, role) : otherUser);
+            t.setId((long) i);
+            t.setAssignee(own && role == Role.SUPPORT_AGENT ? user(1L, role) : otherAgent);
+            ticketList.add(t);
+        }
+        ticket = ticketList.get(0);
+    }
+
+    private static User user(Long id, Role role) {
+        User user = new User("user" + id, "user" + id + "@ticketdesk.com", "{noop}password", "First", "Last", role);
+        user.setId(id);
+        return user;
+    }
+
+    @Benchmark
+    public boolean single() {
+        return ticketService.canUserAccessTicket(caller, ticket);
+    }
+
+    @Benchmark
+    public int filterList() {
+        int visible = 0;
+        for (Ticket t : ticketList) {
+            if (ticketService.canUserAccessTicket(caller, t)) {
+                visible++;
+            }
+        }
+        return visible;
+    }
+}
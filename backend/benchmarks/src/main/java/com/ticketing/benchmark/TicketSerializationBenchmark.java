@@ -0,0 +1,94 @@
+package com.ticketing.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ticketing.dto.CommentView;
+import com.ticketing.dto.TicketDetail;
+import com.ticketing.model.Comment;
+import com.ticketing.model.Priority;
+import com.ticketing.model.Role;
+import com.ticketing.model.Status;
+import com.ticketing.model.Ticket;
+import com.ticketing.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a ticket with creator, assignee and comments. "entity" writes the JPA
+ * graph as controllers originally returned it; "dto" writes the TicketDetail and CommentView read
+ * models the endpoints return now. The mapper is configured the way Spring Boot configures it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketSerializationBenchmark {
+    @Param({"0", "10", "100"})
+    public int comments;
+
+    private ObjectMapper objectMapper;
+    private Ticket ticket;
+    private TicketDetail detail;
+    private List<CommentView> commentViews;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+                .build();
+
+        User creator = user(1L, "customer", Role.USER);
+        User assignee = user(2L, "agent", Role.SUPPORT_AGENT);
+        ticket = new Ticket("Printer on floor 3 jams on every job",
+                "The printer jams after the first page. Restarting it does not help. ".repeat(8),
+                Priority.HIGH, creator);
+        ticket.setId(1000L);
+        ticket.setStatus(Status.IN_PROGRESS);
+        ticket.setAssignee(assignee);
+        ticket.setCreatedAt(LocalDateTime.now().minusDays(2));
+        ticket.setUpdatedAt(LocalDateTime.now());
+
+        List<Comment> thread = new ArrayList<>();
+        for (int i = 0; i < comments; i++) {
+            Comment comment = new Comment("Comment " + i + ": tried another tray, same result.", ticket,
+                    i % 2 == 0 ? creator : assignee);
+            comment.setId((long) i + 1);
+            comment.setCreatedAt(LocalDateTime.now().minusHours(comments - i));
+            thread.add(comment);
+        }
+        ticket.setComments(thread);
+
+        detail = TicketDetail.from(ticket);
+        commentViews = thread.stream().map(CommentView::from).toList();
+    }
+
+    private static User user(Long id, String username, Role role) {
+        User user = new User(username, username + "@ticketdesk.com", "{bcrypt}hash", "First", "Last", role);
+        user.setId(id);
+        user.setCreatedAt(LocalDateTime.now().minusYears(1));
+        return user;
+    }
+
+    @Benchmark
+    public byte[] entity() throws Exception {
+        return objectMapper.writeValueAsBytes(ticket);
+    }
+
+    // The detail and its comments are served by two endpoints; both bodies are counted
+    @Benchmark
+    public void dto(Blackhole blackhole) throws Exception {
+        blackhole.consume(objectMapper.writeValueAsBytes(detail));
+        blackhole.consume(objectMapper.writeValueAsBytes(commentViews));
+    }
+}
@@ -0,0 +1,64 @@
+package com.ticketing.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and outcome counts for one endpoint. Latency runs from the request's scheduled
+ * start, not from when it was actually sent, so a stalled server shows up in the percentiles
+ * instead of silently lowering the request rate (coordinated omission).
+ */
+class EndpointStats {
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final String name;
+    private final Recorder recorder = new Recorder(MAX_LATENCY_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private Histogram histogram = new Histogram(MAX_LATENCY_MICROS, 3);
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    void record(long scheduledNanos, boolean success) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledNanos);
+        recorder.recordValue(Math.min(Math.max(micros, 1), MAX_LATENCY_MICROS));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    // Not sent because too many requests were already in flight
+    void drop() {
+        dropped.increment();
+    }
+
+    // Discards everything recorded so far, at the end of the warmup
+    void reset() {
+        recorder.reset();
+        histogram = new Histogram(MAX_LATENCY_MICROS, 3);
+        errors.reset();
+        dropped.reset();
+    }
+
+    Histogram snapshot() {
+        histogram.add(recorder.getIntervalHistogram());
+        return histogram;
+    }
+
+    long getErrors() {
+        return errors.sum();
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+}
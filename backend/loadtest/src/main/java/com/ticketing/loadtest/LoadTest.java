@@ -0,0 +1,164 @@
+package com.ticketing.loadtest;
+
+import com.ticketing.TicketingSystemApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entry point of the load test. Without {@code --target} it starts an embedded Postgres, boots the
+ * application against it with {@link LoadTestDataGenerator} enabled, and drives the workload at the
+ * random port; with {@code --target=http://host:port} it drives an already running, already seeded
+ * instance instead. Options with a dot in their name (e.g. {@code --threads.virtual.enabled=true})
+ * are passed on to the booted application as properties.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+
+        EmbeddedPostgres postgres = null;
+        ConfigurableApplicationContext context = null;
+        String target = options.target;
+        try {
+            if (target == null) {
+                System.out.println("Starting embedded Postgres");
+                postgres = EmbeddedPostgres.builder().start();
+                context = startApplication(options, postgres.getPort());
+                target = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            }
+
+            Workload workload = new Workload(options, target + "/api");
+            workload.prepare();
+            System.out.printf("Driving %s at %d req/s for %ds after a %ds warmup, %d sessions%n",
+                    target, options.rps, options.durationSeconds, options.warmupSeconds, options.sessions);
+            ServerStats serverStats = context != null ? new ServerStats(context) : null;
+            List<EndpointStats> measured = workload.run(() -> {
+                if (serverStats != null) {
+                    serverStats.start();
+                }
+            });
+            Workload.printReport(measured, options.durationSeconds);
+            if (serverStats != null) {
+                serverStats.stop();
+                serverStats.printReport();
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(Options options, int databasePort) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("DB_HOST", "localhost");
+        properties.put("DB_PORT", String.valueOf(databasePort));
+        properties.put("DB_NAME", "postgres");
+        properties.put("DB_USERNAME", "postgres");
+        properties.put("DB_PASSWORD", "postgres");
+        properties.put("SERVER_PORT", "0");
+        properties.put("JWT_SECRET", "bG9hZHRlc3Qtc2VjcmV0LWtleS1mb3ItdGhlLXRpY2tldGluZy1zeXN0ZW0tbG9hZC10ZXN0cw==");
+        properties.put("JWT_EXPIRATION", "86400000");
+        properties.put("loadtest.seed.enabled", "true");
+        properties.put("loadtest.seed.users", options.users);
+        properties.put("loadtest.seed.agents", options.agents);
+        properties.put("loadtest.seed.admins", options.admins);
+        properties.put("loadtest.seed.tickets", options.tickets);
+        properties.put("loadtest.seed.comments-per-ticket", options.commentsPerTicket);
+        // Measure the production logging configuration, not the development one
+        properties.put("spring.profiles.active", "prod");
+        // Nothing listens for SMTP; assignment and status mails would only fill the log with retries
+        properties.put("spring.mail.host", "127.0.0.1");
+        properties.put("logging.level.com.ticketing.service.EmailDispatcher", "OFF");
+        properties.putAll(options.applicationProperties);
+
+        // Passed as command line arguments so they take precedence over application.yml and .env
+        String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        System.out.println("Starting application and seeding data");
+        return new SpringApplicationBuilder(TicketingSystemApplication.class).run(args);
+    }
+
+    static class Options {
+        String target;
+        int users = 500;
+        int agents = 25;
+        int admins = 2;
+        int tickets = 20000;
+        int commentsPerTicket = 3;
+        int rps = 200;
+        int durationSeconds = 60;
+        int warmupSeconds = 10;
+        int sessions = 50;
+        int maxInFlight = 512;
+        int timeoutSeconds = 30;
+        // Relative weights of the operations in the mix
+        Map<String, Integer> mix = new LinkedHashMap<>(Map.of(
+                "login", 2, "list", 30, "search", 25, "detail", 30, "comment", 8, "status", 5));
+        // Overrides for the embedded application, e.g. threads.virtual.enabled or database.pool.maximum-size
+        Map<String, String> applicationProperties = new LinkedHashMap<>();
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Expected --name=value, got " + arg);
+                }
+                String name = arg.substring(2, arg.indexOf('='));
+                String value = arg.substring(arg.indexOf('=') + 1);
+                switch (name) {
+                    case "target" -> options.target = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                    case "users" -> options.users = Integer.parseInt(value);
+                    case "agents" -> options.agents = Integer.parseInt(value);
+                    case "admins" -> options.admins = Integer.parseInt(value);
+                    case "tickets" -> options.tickets = Integer.parseInt(value);
+                    case "comments-per-ticket" -> options.commentsPerTicket = Integer.parseInt(value);
+                    case "rps" -> options.rps = Integer.parseInt(value);
+                    case "duration" -> options.durationSeconds = Integer.parseInt(value);
+                    case "warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                    case "sessions" -> options.sessions = Integer.parseInt(value);
+                    case "max-in-flight" -> options.maxInFlight = Integer.parseInt(value);
+                    case "timeout" -> options.timeoutSeconds = Integer.parseInt(value);
+                    // e.g. --mix=list:50,search:50
+                    case "mix" -> {
+                        options.mix.replaceAll((operation, weight) -> 0);
+                        for (String entry : value.split(",")) {
+                            String[] parts = entry.split(":");
+                            if (!options.mix.containsKey(parts[0])) {
+                                throw new IllegalArgumentException("Unknown operation " + parts[0] + ", expected one of " + options.mix.keySet());
+                            }
+                            options.mix.put(parts[0], Integer.parseInt(parts[1]));
+                        }
+                    }
+                    default -> {
+                        if (!name.contains(".")) {
+                            throw new IllegalArgumentException("Unknown option --" + name);
+                        }
+                        options.applicationProperties.put(name, value);
+                    }
+                }
+            }
+            if (options.target != null && !options.applicationProperties.isEmpty()) {
+                throw new IllegalArgumentException("Application properties " + options.applicationProperties.keySet()
+                        + " only apply to the embedded application, not to --target");
+            }
+            if (options.rps < 1 || options.durationSeconds < 1 || options.sessions < 1 || options.users < 1
+                    || options.agents < 1 || options.admins < 1) {
+                throw new IllegalArgumentException("rps, duration, sessions, users, agents and admins must be positive");
+            }
+            if (options.mix.values().stream().mapToInt(Integer::intValue).sum() < 1) {
+                throw new IllegalArgumentException("The mix needs at least one operation with a positive weight");
+            }
+            return options;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.ticketing.loadtest;
+
+import com.ticketing.model.Comment;
+import com.ticketing.model.Priority;
+import com.ticketing.model.Role;
+import com.ticketing.model.Status;
+import com.ticketing.model.Ticket;
+import com.ticketing.model.User;
+import com.ticketing.repository.CommentRepository;
+import com.ticketing.repository.TicketRepository;
+import com.ticketing.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds synthetic users, tickets and comments for load tests, the way DataInitializer seeds the
+ * default accounts: through the repositories, and only when the data is not there yet. Generated
+ * accounts are lt_admin_N, lt_agent_N and lt_user_N, all with {@link #PASSWORD}. Content is drawn
+ * from a fixed seed, so two runs with the same sizes produce the same data.
+ */
+@Component
+@ConditionalOnProperty(name = "loadtest.seed.enabled", havingValue = "true")
+public class LoadTestDataGenerator implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestDataGenerator.class);
+
+    public static final String PASSWORD = "password123";
+
+    // Search terms the workload uses; every subject contains at least one of them
+    public static final String[] TOPICS = {
+            "printer", "vpn", "email", "password", "laptop", "network", "monitor", "license",
+            "outlook", "wifi", "access", "database", "keyboard", "invoice", "account", "backup"
+    };
+    private static final String[] PROBLEMS = {
+            "not working", "keeps disconnecting", "is very slow", "shows an error", "needs to be replaced",
+            "cannot be reached", "stopped syncing", "was locked"
+    };
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${loadtest.seed.users:500}")
+    private int userCount;
+
+    @Value("${loadtest.seed.agents:25}")
+    private int agentCount;
+
+    @Value("${loadtest.seed.admins:2}")
+    private int adminCount;
+
+    @Value("${loadtest.seed.tickets:20000}")
+    private int ticketCount;
+
+    @Value("${loadtest.seed.comments-per-ticket:3}")
+    private int commentsPerTicket;
+
+    @Value("${loadtest.seed.chunk-size:1000}")
+    private int chunkSize;
+
+    @Override
+    public void run(String... args) {
+        if (userRepository.existsByUsername("lt_user_0")) {
+            logger.info("Load test data already present, skipping generation");
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        Random random = new Random(42);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // One BCrypt hash shared by every generated account; hashing each would dominate seeding
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        List<User> users = new ArrayList<>();
+        List<User> agents = new ArrayList<>();
+        transaction.executeWithoutResult(status -> {
+            for (int i = 0; i < adminCount; i++) {
+                userRepository.save(newUser("lt_admin_" + i, passwordHash, Role.ADMIN));
+            }
+            for (int i = 0; i < agentCount; i++) {
+                agents.add(userRepository.save(newUser("lt_agent_" + i, passwordHash, Role.SUPPORT_AGENT)));
+            }
+            for (int i = 0; i < userCount; i++) {
+                users.add(userRepository.save(newUser("lt_user_" + i, passwordHash, Role.USER)));
+            }
+        });
+
+        if (users.isEmpty()) {
+            logger.info("Generated {} agents and no users, so no tickets", agentCount);
+            return;
+        }
+
+        long comments = 0;
+        for (int offset = 0; offset < ticketCount; offset += chunkSize) {
+            int size = Math.min(chunkSize, ticketCount - offset);
+            comments += transaction.execute(status -> {
+                long written = seedTickets(size, users, agents, random);
+                // Keeps the persistence context from growing across chunks
+                entityManager.flush();
+                entityManager.clear();
+                return written;
+            });
+        }
+
+        logger.info("Generated {} users, {} agents, {} tickets and {} comments in {} ms",
+                userCount, agentCount, ticketCount, comments, System.currentTimeMillis() - started);
+    }
+
+    private long seedTickets(int count, List<User> users, List<User> agents, Random random) {
+        Status[] statuses = Status.values();
+        Priority[] priorities = Priority.values();
+        List<Ticket> tickets = new ArrayList<>(count);
+        List<Comment> comments = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            User creator = entityManager.getReference(User.class, pick(users, random).getId());
+            String topic = TOPICS[random.nextInt(TOPICS.length)];
+            String problem = PROBLEMS[random.nextInt(PROBLEMS.length)];
+            Ticket ticket = new Ticket(capitalize(topic) + " " + problem,
+                    "My " + topic + " " + problem + " since this morning. I already tried restarting it. " +
+                    "Other people on my floor see the same with their " + TOPICS[random.nextInt(TOPICS.length)] + ".",
+                    priorities[random.nextInt(priorities.length)], creator);
+            Status status = statuses[random.nextInt(statuses.length)];
+            User assignee = null;
+            // Anything past OPEN has an agent, and a third of open tickets are already assigned
+            if (!agents.isEmpty() && (status != Status.OPEN || random.nextInt(3) == 0)) {
+                assignee = entityManager.getReference(User.class, pick(agents, random).getId());
+                ticket.setAssignee(assignee);
+            }
+            ticket.setStatus(status);
+            if (status == Status.RESOLVED || status == Status.CLOSED) {
+                ticket.setResolvedAt(LocalDateTime.now());
+            }
+            tickets.add(ticket);
+
+            int ticketComments = commentsPerTicket > 0 ? random.nextInt(commentsPerTicket * 2 + 1) : 0;
+            for (int c = 0; c < ticketComments; c++) {
+                User author = assignee != null && c % 2 == 1 ? assignee : creator;
+                comments.add(new Comment(c % 2 == 1
+                        ? "Could you check whether the " + topic + " works from another device?"
+                        : "Still happening, the " + topic + " " + problem + ".", ticket, author));
+            }
+        }
+
+        ticketRepository.saveAll(tickets);
+        commentRepository.saveAll(comments);
+        return comments.size();
+    }
+
+    private static User newUser(String username, String passwordHash, Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@loadtest.ticketdesk.com");
+        user.setPassword(passwordHash);
+        user.setFirstName("Load");
+        user.setLastName(username);
+        user.setRole(role);
+        return user;
+    }
+
+    private static <T> T pick(List<T> items, Random random) {
+        return items.get(random.nextInt(items.size()));
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,98 @@
+package com.ticketing.loadtest;
+
+import com.ticketing.config.VirtualThreads;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-side view of the measured period, available when the load test boots the application
+ * itself: which thread model served requests, and how the primary connection pool coped. Pool
+ * occupancy is sampled every 10 ms; timeouts and acquire time come from the pool's Micrometer meters.
+ */
+class ServerStats {
+    private static final long SAMPLE_INTERVAL_MS = 10;
+
+    private final boolean virtualThreads;
+    private final HikariDataSource pool;
+    private final HikariPoolMXBean poolBean;
+    private final Counter timeouts;
+    private final Timer acquire;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "loadtest-pool-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private double timeoutsAtStart;
+    private long acquiresAtStart;
+    private double acquireNanosAtStart;
+    private int maxActive;
+    private int maxPending;
+    private long pendingSum;
+    private long samples;
+    private long samplesWithPending;
+
+    ServerStats(ConfigurableApplicationContext context) {
+        this.virtualThreads = context.getEnvironment().getProperty("threads.virtual.enabled", Boolean.class, false)
+                && VirtualThreads.isSupported();
+        this.pool = context.getBean("primaryDataSource", HikariDataSource.class);
+        this.poolBean = pool.getHikariPoolMXBean();
+        MeterRegistry registry = context.getBean(MeterRegistry.class);
+        this.timeouts = registry.find("hikaricp.connections.timeout").tag("pool", pool.getPoolName()).counter();
+        this.acquire = registry.find("hikaricp.connections.acquire").tag("pool", pool.getPoolName()).timer();
+    }
+
+    void start() {
+        timeoutsAtStart = timeouts != null ? timeouts.count() : 0;
+        acquiresAtStart = acquire != null ? acquire.count() : 0;
+        acquireNanosAtStart = acquire != null ? acquire.totalTime(TimeUnit.NANOSECONDS) : 0;
+        threads.resetPeakThreadCount();
+        sampler.scheduleAtFixedRate(this::sample, 0, SAMPLE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    void stop() throws InterruptedException {
+        sampler.shutdown();
+        sampler.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    private synchronized void sample() {
+        int active = poolBean.getActiveConnections();
+        int pending = poolBean.getThreadsAwaitingConnection();
+        maxActive = Math.max(maxActive, active);
+        maxPending = Math.max(maxPending, pending);
+        pendingSum += pending;
+        samples++;
+        if (pending > 0) {
+            samplesWithPending++;
+        }
+    }
+
+    synchronized void printReport() {
+        long acquires = acquire != null ? acquire.count() - acquiresAtStart : 0;
+        double acquireNanos = acquire != null ? acquire.totalTime(TimeUnit.NANOSECONDS) - acquireNanosAtStart : 0;
+
+        System.out.printf("%nServer: Java %d, requests on %s%n", Runtime.version().feature(),
+                virtualThreads ? "virtual threads" : "Tomcat's platform worker pool");
+        System.out.printf("  Peak live platform threads   %d%n", threads.getPeakThreadCount());
+        System.out.printf("  %-29s%d connections, %d ms connection timeout%n",
+                "Connection pool '" + pool.getPoolName() + "'", pool.getMaximumPoolSize(), pool.getConnectionTimeout());
+        System.out.printf("  Max active / max waiting     %d / %d%n", maxActive, maxPending);
+        System.out.printf("  Mean waiting, time with wait %.1f threads, %.0f%%%n",
+                samples > 0 ? pendingSum / (double) samples : 0,
+                samples > 0 ? 100.0 * samplesWithPending / samples : 0);
+        System.out.printf("  Connections acquired         %d, mean wait %.2f ms%n",
+                acquires, acquires > 0 ? acquireNanos / acquires / 1_000_000 : 0);
+        System.out.printf("  Connection timeouts          %.0f%n", timeouts != null ? timeouts.count() - timeoutsAtStart : 0);
+    }
+}
@@ -0,0 +1,339 @@
+package com.ticketing.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketing.config.VirtualThreads;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model HTTP workload: requests are started at a fixed rate regardless of how fast the server
+ * answers, and each one picks an operation by weight and a logged-in session to run it as.
+ * Sessions remember ticket ids from their own listings, so detail reads, comments and status
+ * changes only target tickets the session is allowed to touch.
+ */
+class Workload {
+    private static final String[] NEXT_STATUS = {"IN_PROGRESS", "RESOLVED", "CLOSED", "OPEN"};
+
+    private final LoadTest.Options options;
+    private final String baseUrl;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService executor;
+    private final Semaphore inFlight;
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final List<Operation> operations = new ArrayList<>();
+    private final List<Session> sessions = new ArrayList<>();
+    private final List<Session> staffSessions = new ArrayList<>();
+    private int totalWeight;
+
+    Workload(LoadTest.Options options, String baseUrl) {
+        this.options = options;
+        this.baseUrl = baseUrl;
+        this.executor = VirtualThreads.isSupported()
+                ? VirtualThreads.newThreadPerTaskExecutor("loadtest-")
+                : Executors.newFixedThreadPool(Math.max(8, Runtime.getRuntime().availableProcessors() * 2));
+        this.client = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.inFlight = new Semaphore(options.maxInFlight);
+
+        addOperation("login", "POST /api/auth/signin", this::login);
+        addOperation("list", "GET /api/tickets", this::list);
+        addOperation("search", "GET /api/tickets/search", this::search);
+        addOperation("detail", "GET /api/tickets/{id}", this::detail);
+        addOperation("comment", "POST /api/tickets/{id}/comments", this::comment);
+        addOperation("status", "PUT /api/tickets/{id}/status", this::changeStatus);
+    }
+
+    private void addOperation(String key, String endpoint, Action action) {
+        int weight = options.mix.getOrDefault(key, 0);
+        EndpointStats endpointStats = new EndpointStats(endpoint);
+        stats.put(endpoint, endpointStats);
+        if (weight > 0) {
+            operations.add(new Operation(weight, endpointStats, action));
+            totalWeight += weight;
+        }
+    }
+
+    /**
+     * Logs in the sessions (users, agents and admins in roughly the seeded proportions) and fills
+     * each one's ticket ids from a first listing.
+     */
+    void prepare() throws Exception {
+        for (int i = 0; i < options.sessions; i++) {
+            String username;
+            if (i % 20 == 0) {
+                username = "lt_admin_" + (i / 20) % options.admins;
+            } else if (i % 5 == 0) {
+                username = "lt_agent_" + (i / 5) % options.agents;
+            } else {
+                username = "lt_user_" + i % options.users;
+            }
+            HttpResponse<byte[]> response = client.send(signIn(username), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login as " + username + " failed with HTTP " + response.statusCode()
+                        + "; was the target seeded by LoadTestDataGenerator?");
+            }
+            JsonNode body = objectMapper.readTree(response.body());
+            Session session = new Session(body.get("accessToken").asText(), body.get("role").asText());
+            sessions.add(session);
+            if (!session.role.equals("USER")) {
+                staffSessions.add(session);
+            }
+            session.remember(client.send(get(session, "/tickets?size=50"), HttpResponse.BodyHandlers.ofByteArray()));
+        }
+    }
+
+    /**
+     * Runs the mix for the warmup and then the measured period, and returns stats for the latter.
+     * {@code onMeasurementStart} runs between the two.
+     */
+    List<EndpointStats> run(Runnable onMeasurementStart) throws InterruptedException {
+        if (options.warmupSeconds > 0) {
+            drive(TimeUnit.SECONDS.toNanos(options.warmupSeconds));
+            stats.values().forEach(EndpointStats::reset);
+        }
+        onMeasurementStart.run();
+        drive(TimeUnit.SECONDS.toNanos(options.durationSeconds));
+
+        // Let requests still in flight finish so slow responses are counted, not cut off
+        if (inFlight.tryAcquire(options.maxInFlight, 60, TimeUnit.SECONDS)) {
+            inFlight.release(options.maxInFlight);
+        }
+        executor.shutdownNow();
+
+        List<EndpointStats> measured = new ArrayList<>();
+        for (EndpointStats endpointStats : stats.values()) {
+            if (endpointStats.snapshot().getTotalCount() > 0 || endpointStats.getDropped() > 0) {
+                measured.add(endpointStats);
+            }
+        }
+        return measured;
+    }
+
+    private void drive(long durationNanos) {
+        long interval = TimeUnit.SECONDS.toNanos(1) / options.rps;
+        long start = System.nanoTime();
+        long end = start + durationNanos;
+        for (long scheduled = start; scheduled < end; scheduled += interval) {
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = pickOperation();
+            if (!inFlight.tryAcquire()) {
+                operation.stats.drop();
+                continue;
+            }
+            long scheduledAt = scheduled;
+            CompletableFuture<HttpResponse<byte[]>> request;
+            try {
+                request = operation.action.start();
+            } catch (RuntimeException e) {
+                inFlight.release();
+                operation.stats.record(scheduledAt, false);
+                continue;
+            }
+            request.whenComplete((response, error) -> {
+                inFlight.release();
+                operation.stats.record(scheduledAt, error == null && response.statusCode() < 400);
+            });
+        }
+    }
+
+    private Operation pickOperation() {
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Operation operation : operations) {
+            ticket -= operation.weight;
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    // Operations
+
+    private CompletableFuture<HttpResponse<byte[]>> login() {
+        String username = "lt_user_" + ThreadLocalRandom.current().nextInt(options.users);
+        return client.sendAsync(signIn(username), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> list() {
+        Session session = pick(sessions);
+        return client.sendAsync(get(session, "/tickets?size=20"), HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, error) -> {
+                    if (error == null) {
+                        session.remember(response);
+                    }
+                });
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> search() {
+        Session session = pick(sessions);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String topic = LoadTestDataGenerator.TOPICS[random.nextInt(LoadTestDataGenerator.TOPICS.length)];
+        // Prefixes exercise the prefix tsquery path; some searches also filter by status
+        String term = random.nextBoolean() ? topic : topic.substring(0, Math.max(3, topic.length() - 2));
+        String path = "/tickets/search?size=20&search=" + URLEncoder.encode(term, StandardCharsets.UTF_8);
+        if (random.nextInt(3) == 0) {
+            path += "&status=" + NEXT_STATUS[random.nextInt(NEXT_STATUS.length)];
+        }
+        return client.sendAsync(get(session, path), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> detail() {
+        Session session = pick(sessions);
+        long id = session.pickTicket();
+        return client.sendAsync(get(session, "/tickets/" + id), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> comment() {
+        Session session = pick(sessions);
+        long id = session.pickTicket();
+        String body = "{\"content\":\"Load test comment " + System.nanoTime() + "\"}";
+        return client.sendAsync(post(session, "/tickets/" + id + "/comments", body), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> changeStatus() {
+        Session session = pick(staffSessions.isEmpty() ? sessions : staffSessions);
+        long id = session.pickTicket();
+        String status = NEXT_STATUS[ThreadLocalRandom.current().nextInt(NEXT_STATUS.length)];
+        HttpRequest request = authorized(session, "/tickets/" + id + "/status")
+                .PUT(HttpRequest.BodyPublishers.ofString("{\"status\":\"" + status + "\"}"))
+                .build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    // Requests
+
+    private HttpRequest signIn(String username) {
+        String body = "{\"username\":\"" + username + "\",\"password\":\"" + LoadTestDataGenerator.PASSWORD + "\"}";
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/auth/signin"))
+                .timeout(Duration.ofSeconds(options.timeoutSeconds))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest get(Session session, String path) {
+        return authorized(session, path).GET().build();
+    }
+
+    private HttpRequest post(Session session, String path, String json) {
+        return authorized(session, path).POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private HttpRequest.Builder authorized(Session session, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(options.timeoutSeconds))
+                .header("Authorization", "Bearer " + session.token)
+                .header("Content-Type", "application/json");
+    }
+
+    private static <T> T pick(List<T> items) {
+        return items.get(ThreadLocalRandom.current().nextInt(items.size()));
+    }
+
+    static void printReport(List<EndpointStats> measured, int durationSeconds) {
+        System.out.printf("%n%-32s %9s %7s %7s %8s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Dropped", "Req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        long totalDropped = 0;
+        for (EndpointStats endpointStats : measured) {
+            Histogram histogram = endpointStats.snapshot();
+            total.add(histogram);
+            totalErrors += endpointStats.getErrors();
+            totalDropped += endpointStats.getDropped();
+            printRow(endpointStats.getName(), histogram, endpointStats.getErrors(), endpointStats.getDropped(), durationSeconds);
+        }
+        printRow("All", total, totalErrors, totalDropped, durationSeconds);
+    }
+
+    private static void printRow(String name, Histogram histogram, long errors, long dropped, int durationSeconds) {
+        System.out.printf("%-32s %9d %7d %7d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name,
+                histogram.getTotalCount(),
+                errors,
+                dropped,
+                histogram.getTotalCount() / (double) durationSeconds,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        CompletableFuture<HttpResponse<byte[]>> start();
+    }
+
+    private static class Operation {
+        private final int weight;
+        private final EndpointStats stats;
+        private final Action action;
+
+        private Operation(int weight, EndpointStats stats, Action action) {
+            this.weight = weight;
+            this.stats = stats;
+            this.action = action;
+        }
+    }
+
+    private class Session {
+        private final String token;
+        private final String role;
+        private volatile long[] ticketIds = new long[0];
+
+        private Session(String token, String role) {
+            this.token = token;
+            this.role = role;
+        }
+
+        private void remember(HttpResponse<byte[]> response) {
+            if (response.statusCode() != 200) {
+                return;
+            }
+            try {
+                JsonNode items = objectMapper.readTree(response.body()).path("items");
+                if (items.size() > 0) {
+                    long[] ids = new long[items.size()];
+                    for (int i = 0; i < ids.length; i++) {
+                        ids[i] = items.get(i).path("id").asLong();
+                    }
+                    ticketIds = ids;
+                }
+            } catch (Exception e) {
+                // Keep the previous ids
+            }
+        }
+
+        // A session that sees no tickets yet targets id 1 and gets a 403 or 404, which is counted as an error
+        private long pickTicket() {
+            long[] ids = ticketIds;
+            return ids.length > 0 ? ids[ThreadLocalRandom.current().nextInt(ids.length)] : 1L;
+        }
+    }
+}
@@ -1,76 +1,218 @@
 package com.ticketing.config;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
-import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaVendorAdapter;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
 
 import javax.sql.DataSource;
 import java.net.URI;
+import java.util.Map;
 
 @Configuration
 public class DatabaseConfig {
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseConfig.class);
 
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    // Environment variables, the .env file (EnvironmentConfig) and system properties, in Spring's precedence order
+    @Autowired
+    private Environment environment;
+
+    // 0 means derive from the number of cores
+    @Value("${database.pool.maximum-size:0}")
+    private int maximumPoolSize;
+
+    @Value("${database.pool.minimum-idle:-1}")
+    private int minimumIdle;
+
+    @Value("${database.pool.connection-timeout-ms:3000}")
+    private long connectionTimeoutMs;
+
+    @Value("${database.pool.idle-timeout-ms:600000}")
+    private long idleTimeoutMs;
+
+    @Value("${database.pool.max-lifetime-ms:1800000}")
+    private long maxLifetimeMs;
+
+    @Value("${database.pool.leak-detection-threshold-ms:0}")
+    private long leakDetectionThresholdMs;
+
+    @Value("${database.pgjdbc.prepare-threshold:3}")
+    private int prepareThreshold;
+
+    @Value("${database.pgjdbc.prepared-statement-cache-queries:256}")
+    private int preparedStatementCacheQueries;
+
+    @Value("${database.pgjdbc.prepared-statement-cache-size-mib:5}")
+    private int preparedStatementCacheSizeMiB;
+
+    @Value("${database.replica.url:}")
+    private String replicaUrl;
+
+    @Value("${database.replica.username:}")
+    private String replicaUsername;
+
+    @Value("${database.replica.password:}")
+    private String replicaPassword;
+
+    @Value("${database.replica.max-lag-ms:5000}")
+    private long replicaMaxLagMs;
+
+    /**
+     * Without a replica this is the primary pool itself. With one, read-only transactions are
+     * routed to the replica; the lazy proxy defers picking a pool until the first statement.
+     * With the slow-query log enabled, statements are timed through a datasource-proxy wrapper.
+     */
     @Bean
     @Primary
-    public DataSource dataSource() {
-        String databaseUrl = System.getenv("DATABASE_URL");
-        
-        System.out.println("=== DatabaseConfig called ===");
-        System.out.println("DATABASE_URL: " + databaseUrl);
-        System.out.println("Raw URI info:");
-        
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                 ObjectProvider<ReadWriteRoutingDataSource> routingDataSource,
+                                 ObjectProvider<SlowQueryLogger> slowQueryLogger) {
+        ReadWriteRoutingDataSource routing = routingDataSource.getIfAvailable();
+        DataSource dataSource = routing != null ? new LazyConnectionDataSourceProxy(routing) : primaryDataSource;
+        SlowQueryLogger listener = slowQueryLogger.getIfAvailable();
+        return listener != null
+                ? ProxyDataSourceBuilder.create(dataSource).name("ticketing").listener(listener).build()
+                : dataSource;
+    }
+
+    /**
+     * Boot's adapter, configured from spring.jpa.* as Boot would, but with a replica its read-only
+     * sessions stop writing to the second-level cache (see {@link ReplicaCacheModeJpaDialect}).
+     */
+    @Bean
+    public JpaVendorAdapter jpaVendorAdapter(JpaProperties properties,
+                                             ObjectProvider<ReadWriteRoutingDataSource> routingDataSource) {
+        HibernateJpaDialect dialect = routingDataSource.getIfAvailable() != null ? new ReplicaCacheModeJpaDialect() : null;
+        HibernateJpaVendorAdapter adapter = new HibernateJpaVendorAdapter() {
+            @Override
+            public HibernateJpaDialect getJpaDialect() {
+                return dialect != null ? dialect : super.getJpaDialect();
+            }
+        };
+        adapter.setShowSql(properties.isShowSql());
+        if (properties.getDatabase() != null) {
+            adapter.setDatabase(properties.getDatabase());
+        }
+        if (properties.getDatabasePlatform() != null) {
+            adapter.setDatabasePlatform(properties.getDatabasePlatform());
+        }
+        adapter.setGenerateDdl(properties.isGenerateDdl());
+        return adapter;
+    }
+
+    /**
+     * Index migrations build CONCURRENTLY, which waits for every open transaction, including the one
+     * Flyway's default transaction-scoped advisory lock keeps open; a session-level lock avoids the deadlock.
+     */
+    @Bean
+    public FlywayConfigurationCustomizer sessionLevelMigrationLock() {
+        return configuration -> configuration.configuration(Map.of("flyway.postgresql.transactional.lock", "false"));
+    }
+
+    @Bean
+    @ConditionalOnExpression("!'${database.replica.url:}'.isEmpty()")
+    public HikariDataSource replicaDataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource) {
+        // Credentials default to the primary's
+        String username = replicaUsername.isEmpty() ? primaryDataSource.getUsername() : replicaUsername;
+        String password = replicaPassword.isEmpty() ? primaryDataSource.getPassword() : replicaPassword;
+        return pooledDataSource("ticketing-replica", replicaUrl, username, password, true);
+    }
+
+    @Bean
+    @ConditionalOnExpression("!'${database.replica.url:}'.isEmpty()")
+    public ReadWriteRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                                       @Qualifier("replicaDataSource") HikariDataSource replicaDataSource) {
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, replicaMaxLagMs);
+    }
+
+    // Migrations always run on the primary, never through the routing proxy
+    @Bean
+    @FlywayDataSource
+    public HikariDataSource primaryDataSource() {
+        String databaseUrl = environment.getProperty("DATABASE_URL");
+
         if (databaseUrl != null && databaseUrl.startsWith("postgresql://")) {
             // Convert PostgreSQL URL to JDBC URL
             try {
                 URI uri = new URI(databaseUrl);
                 String host = uri.getHost();
-                int rawPort = uri.getPort();
-                int port = rawPort == -1 ? 5432 : rawPort; // Default to 5432 if port is -1
+                int port = uri.getPort() == -1 ? 5432 : uri.getPort();
                 String database = uri.getPath().substring(1); // Remove leading '/'
                 String username = uri.getUserInfo().split(":")[0];
                 String password = uri.getUserInfo().split(":")[1];
-                
-                System.out.println("Raw port from URI: " + rawPort);
-                System.out.println("Final port used: " + port);
-                System.out.println("Host: " + host);
-                System.out.println("Database: " + database);
-                System.out.println("Username: " + username);
-                
+
                 String jdbcUrl = String.format("jdbc:postgresql://%s:%d/%s", host, port, database);
-                System.out.println("Final JDBC URL: " + jdbcUrl);
-                
-                return DataSourceBuilder.create()
-                        .url(jdbcUrl)
-                        .username(username)
-                        .password(password)
-                        .driverClassName("org.postgresql.Driver")
-                        .build();
+                return pooledDataSource("ticketing", jdbcUrl, username, password, false);
             } catch (Exception e) {
-                System.err.println("Failed to parse DATABASE_URL: " + databaseUrl);
-                e.printStackTrace();
-                throw new RuntimeException("Failed to parse DATABASE_URL: " + databaseUrl, e);
+                // The URL carries the password, so it is never logged
+                throw new RuntimeException("Failed to parse DATABASE_URL", e);
             }
         } else {
-            System.out.println("Using individual env variables for local development");
             // Use individual environment variables for local development
-            String host = System.getenv().getOrDefault("DB_HOST", "localhost");
-            String port = System.getenv().getOrDefault("DB_PORT", "5432");
-            String database = System.getenv().getOrDefault("DB_NAME", "ticketing_db");
-            String username = System.getenv().getOrDefault("DB_USERNAME", "postgres");
-            String password = System.getenv().getOrDefault("DB_PASSWORD", "password");
-            
+            String host = environment.getProperty("DB_HOST", "localhost");
+            String port = environment.getProperty("DB_PORT", "5432");
+            String database = environment.getProperty("DB_NAME", "ticketing_db");
+            String username = environment.getProperty("DB_USERNAME", "postgres");
+            String password = environment.getProperty("DB_PASSWORD", "password");
+
             String jdbcUrl = String.format("jdbc:postgresql://%s:%s/%s", host, port, database);
-            
-            System.out.println("Using individual env vars - JDBC URL: " + jdbcUrl);
-            System.out.println("Username: " + username);
-            
-            return DataSourceBuilder.create()
-                    .url(jdbcUrl)
-                    .username(username)
-                    .password(password)
-                    .driverClassName("org.postgresql.Driver")
-                    .build();
+            return pooledDataSource("ticketing", jdbcUrl, username, password, false);
+        }
+    }
+
+    private HikariDataSource pooledDataSource(String poolName, String jdbcUrl, String username, String password, boolean readOnly) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setReadOnly(readOnly);
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setDriverClassName("org.postgresql.Driver");
+
+        // A small pool that queues bursts beats a large one that thrashes the database
+        int poolSize = maximumPoolSize > 0 ? maximumPoolSize : Runtime.getRuntime().availableProcessors() * 2 + 1;
+        config.setMaximumPoolSize(poolSize);
+        config.setMinimumIdle(minimumIdle >= 0 ? Math.min(minimumIdle, poolSize) : poolSize);
+        config.setConnectionTimeout(connectionTimeoutMs);
+        config.setIdleTimeout(idleTimeoutMs);
+        config.setMaxLifetime(maxLifetimeMs);
+        config.setLeakDetectionThreshold(leakDetectionThresholdMs);
+        config.setRegisterMbeans(true);
+        // Set before the pool starts; Boot's own binder cannot attach to an already running pool
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
         }
+
+        // pgjdbc: collapse batched INSERTs into multi-row statements and keep server-side prepared statements
+        config.addDataSourceProperty("reWriteBatchedInserts", "true");
+        config.addDataSourceProperty("prepareThreshold", String.valueOf(prepareThreshold));
+        config.addDataSourceProperty("preparedStatementCacheQueries", String.valueOf(preparedStatementCacheQueries));
+        config.addDataSourceProperty("preparedStatementCacheSizeMiB", String.valueOf(preparedStatementCacheSizeMiB));
+
+        logger.info("Connection pool '{}' for {} with {} connections", config.getPoolName(), jdbcUrl, poolSize);
+        return new HikariDataSource(config);
     }
 }
@@ -0,0 +1,86 @@
+package com.ticketing.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary. The replica is
+ * only used while its replay lag is within {@code maxLagMs}; when it falls behind or cannot be
+ * reached, reads fall back to the primary until the next successful check.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction manager asks for a connection
+ * before the read-only flag of the new transaction is visible here.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    // 0 for a server that is not replaying WAL, so a plain Postgres instance can stand in for a replica
+    private static final String LAG_QUERY = "SELECT CASE " +
+            "WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final DataSource replica;
+    private final long maxLagMs;
+    private volatile boolean replicaUsable;
+    private volatile long replicaLagMs = -1;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, long maxLagMs) {
+        this.replica = replica;
+        this.maxLagMs = maxLagMs;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicaUsable && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+
+    @Scheduled(fixedDelayString = "${database.replica.check-interval-ms:2000}")
+    public void checkReplica() {
+        boolean usable;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+            rs.next();
+            replicaLagMs = rs.getLong(1);
+            usable = replicaLagMs <= maxLagMs;
+            if (!usable && replicaUsable) {
+                logger.warn("Replica lag {} ms exceeds {} ms, routing reads to the primary", replicaLagMs, maxLagMs);
+            }
+        } catch (Exception e) {
+            replicaLagMs = -1;
+            usable = false;
+            if (replicaUsable) {
+                logger.warn("Replica unavailable, routing reads to the primary: {}", e.getMessage());
+            }
+        }
+        if (usable && !replicaUsable) {
+            logger.info("Routing read-only transactions to the replica (lag {} ms)", replicaLagMs);
+        }
+        replicaUsable = usable;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public long getReplicaLagMs() {
+        return replicaLagMs;
+    }
+}
@@ -0,0 +1,52 @@
+package com.ticketing.config;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+
+import java.sql.SQLException;
+
+/**
+ * With a replica configured, read-only transactions may load rows that lag the primary. Their
+ * sessions read the second-level cache but never put into it, so a lagging row cannot replace an
+ * entry a write just evicted and then be served to the primary-side write paths for the whole TTL.
+ */
+public class ReplicaCacheModeJpaDialect extends HibernateJpaDialect {
+    // find() takes its cache mode from this property rather than from Session.getCacheMode()
+    private static final String STORE_MODE = "jakarta.persistence.cache.storeMode";
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException, TransactionException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!definition.isReadOnly()) {
+            return transactionData;
+        }
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previous = session.getCacheMode();
+        Object previousStoreMode = session.getProperties().getOrDefault(STORE_MODE, CacheStoreMode.USE);
+        session.setProperty(STORE_MODE, CacheStoreMode.BYPASS);
+        session.setCacheMode(CacheMode.GET);
+        return new ReadOnlyTransactionData(transactionData, session, previous, previousStoreMode);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReadOnlyTransactionData readOnly) {
+            readOnly.session.setProperty(STORE_MODE, readOnly.previousStoreMode);
+            readOnly.session.setCacheMode(readOnly.previousCacheMode);
+            super.cleanupTransaction(readOnly.delegate);
+        } else {
+            super.cleanupTransaction(transactionData);
+        }
+    }
+
+    private record ReadOnlyTransactionData(Object delegate, Session session, CacheMode previousCacheMode,
+                                           Object previousStoreMode) {
+    }
+}
@@ -0,0 +1,459 @@
+package com.ticketing.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.Predicate.BooleanOperator;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.query.sqm.ComparisonOperator;
+import org.hibernate.query.sqm.tree.SqmStatement;
+import org.hibernate.query.sqm.tree.delete.SqmDeleteStatement;
+import org.hibernate.query.sqm.tree.domain.SqmFkExpression;
+import org.hibernate.query.sqm.tree.domain.SqmPath;
+import org.hibernate.query.sqm.tree.expression.SqmExpression;
+import org.hibernate.query.sqm.tree.from.SqmRoot;
+import org.hibernate.query.sqm.tree.predicate.SqmBetweenPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmComparisonPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmGroupedPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmInListPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmJunctionPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmNullnessPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmWhereClause;
+import org.hibernate.query.sqm.tree.select.SqmOrderByClause;
+import org.hibernate.query.sqm.tree.select.SqmQuerySpec;
+import org.hibernate.query.sqm.tree.select.SqmSelectStatement;
+import org.hibernate.query.sqm.tree.select.SqmSortSpecification;
+import org.hibernate.query.sqm.tree.update.SqmUpdateStatement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Flags repository queries that no index can serve. Each JPQL and derived query is reduced to the
+ * columns of its root table that it filters with = / IN / IS NULL, bounds with a range, and sorts
+ * by; it is covered when a valid, non-partial btree index leads with one of its equality columns
+ * or, without any, with its first range or sort column. Optional filters written as
+ * {@code (:param IS NULL OR ...)} are not required, and conditions OR-ed across different columns
+ * need an index per branch. Native queries are not checked. Each finding is logged with the index
+ * that would serve it, and queries that cannot be analyzed are logged as well;
+ * {@code schema.index-check.fail-on-missing} turns either into a startup failure.
+ */
+@Component
+@Order(1)
+@ConditionalOnProperty(name = "schema.index-check.enabled", havingValue = "true", matchIfMissing = true)
+public class RepositoryIndexVerifier implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryIndexVerifier.class);
+
+    // Leading column of every usable index on a table, in index name order
+    private static final String LEADING_COLUMNS_SQL =
+            "SELECT a.attname FROM pg_index x " +
+            "JOIN pg_class i ON i.oid = x.indexrelid " +
+            "JOIN pg_am am ON am.oid = i.relam " +
+            "JOIN pg_attribute a ON a.attrelid = x.indrelid AND a.attnum = x.indkey[0] " +
+            "WHERE x.indrelid = to_regclass(?) AND am.amname = 'btree' AND x.indisvalid AND x.indpred IS NULL " +
+            "ORDER BY i.relname";
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${schema.index-check.fail-on-missing:false}")
+    private boolean failOnMissing;
+
+    @Override
+    public void run(String... args) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Repositories repositories = new Repositories(applicationContext);
+        Map<String, Set<String>> leadingColumns = new HashMap<>();
+        Set<String> findings = new LinkedHashSet<>();
+        Set<String> unanalyzable = new LinkedHashSet<>();
+        int checked = 0;
+        int skipped = 0;
+
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+            for (Method method : information.getQueryMethods()) {
+                String name = information.getRepositoryInterface().getSimpleName() + "." + method.getName();
+                List<Access> accesses;
+                try {
+                    Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+                    if (query != null && query.nativeQuery()) {
+                        skipped++;
+                        continue;
+                    }
+                    accesses = query != null
+                            ? analyzeJpql(sessionFactory, query.value())
+                            : analyzeDerived(sessionFactory, method.getName(), domainType);
+                } catch (RuntimeException e) {
+                    // An unchecked query is as unknown as an unindexed one, so it is reported the same way
+                    unanalyzable.add(name);
+                    logger.warn("Index check cannot analyze {}: {}", name, e.getMessage());
+                    continue;
+                }
+
+                checked++;
+                for (Access access : accesses) {
+                    if (access.isUnrestricted()) {
+                        continue;
+                    }
+                    Set<String> indexed = leadingColumns.computeIfAbsent(access.table,
+                            table -> new LinkedHashSet<>(jdbcTemplate.queryForList(LEADING_COLUMNS_SQL, String.class, table)));
+                    if (access.leadingCandidates().stream().noneMatch(indexed::contains)) {
+                        findings.add(name);
+                        logger.warn("No index on {} serves {} ({}); an index on ({}) would",
+                                access.table, name, access, String.join(", ", access.suggestedColumns()));
+                    }
+                }
+            }
+        }
+
+        logger.info("Index check: {} repository queries checked, {} without a usable index, {} unanalyzable, {} native skipped",
+                checked, findings.size(), unanalyzable.size(), skipped);
+        if (failOnMissing && !findings.isEmpty()) {
+            throw new IllegalStateException("Repository queries without a usable index: " + findings);
+        }
+        if (failOnMissing && !unanalyzable.isEmpty()) {
+            throw new IllegalStateException("Repository queries the index check cannot analyze: " + unanalyzable);
+        }
+    }
+
+    // JPQL
+
+    private List<Access> analyzeJpql(SessionFactoryImplementor sessionFactory, String jpql) {
+        SqmStatement<?> statement = sessionFactory.getQueryEngine().getHqlTranslator().translate(jpql, null);
+        SqmRoot<?> root;
+        SqmWhereClause where;
+        SqmOrderByClause orderBy = null;
+        if (statement instanceof SqmSelectStatement<?> select) {
+            SqmQuerySpec<?> spec = select.getQuerySpec();
+            root = spec.getFromClause().getRoots().get(0);
+            where = spec.getWhereClause();
+            orderBy = spec.getOrderByClause();
+        } else if (statement instanceof SqmUpdateStatement<?> update) {
+            root = update.getTarget();
+            where = update.getWhereClause();
+        } else if (statement instanceof SqmDeleteStatement<?> delete) {
+            root = delete.getTarget();
+            where = delete.getWhereClause();
+        } else {
+            // INSERT ... SELECT reads by the ids it is given
+            return List.of();
+        }
+
+        AbstractEntityPersister persister = persister(sessionFactory, root.getEntityName());
+        List<Conditions> alternatives = where == null || where.getPredicate() == null
+                ? null : conditions(where.getPredicate(), root, persister);
+        if (alternatives == null) {
+            alternatives = List.of(new Conditions());
+        }
+
+        List<String> order = new ArrayList<>();
+        if (orderBy != null) {
+            for (SqmSortSpecification sort : orderBy.getSortSpecifications()) {
+                String column = column(sort.getSortExpression(), root, persister);
+                if (column == null) {
+                    break;
+                }
+                order.add(column);
+            }
+        }
+
+        List<Access> accesses = new ArrayList<>();
+        for (Conditions conditions : alternatives) {
+            accesses.add(new Access(persister.getTableName(), conditions, order));
+        }
+        return accesses;
+    }
+
+    /**
+     * The alternatives a predicate needs indexed, one per OR branch that must be served separately,
+     * or null when the predicate does not reference a column of the root table at all.
+     */
+    private List<Conditions> conditions(SqmPredicate predicate, SqmRoot<?> root, AbstractEntityPersister persister) {
+        if (predicate instanceof SqmGroupedPredicate grouped) {
+            return conditions(grouped.getSubPredicate(), root, persister);
+        }
+        if (predicate instanceof SqmJunctionPredicate junction) {
+            List<List<Conditions>> branches = new ArrayList<>();
+            for (SqmPredicate child : junction.getPredicates()) {
+                List<Conditions> branch = conditions(child, root, persister);
+                if (branch != null) {
+                    branches.add(branch);
+                } else if (junction.getOperator() == BooleanOperator.OR) {
+                    // (:param IS NULL OR ...): an optional filter, never required
+                    return List.of(new Conditions());
+                }
+            }
+            if (branches.isEmpty()) {
+                return null;
+            }
+            return junction.getOperator() == BooleanOperator.AND
+                    ? and(branches) : or(branches);
+        }
+        if (predicate instanceof SqmComparisonPredicate comparison && !comparison.isNegated()) {
+            String left = column(comparison.getLeftHandExpression(), root, persister);
+            String right = column(comparison.getRightHandExpression(), root, persister);
+            if (left == null && right == null) {
+                return referencesNoColumn(comparison.getLeftHandExpression(), comparison.getRightHandExpression());
+            }
+            String column = left != null ? left : right;
+            ComparisonOperator operator = comparison.getSqmOperator();
+            if (operator == ComparisonOperator.EQUAL) {
+                return List.of(Conditions.equality(column));
+            }
+            if (operator != ComparisonOperator.NOT_EQUAL && operator != ComparisonOperator.DISTINCT_FROM
+                    && operator != ComparisonOperator.NOT_DISTINCT_FROM) {
+                return List.of(Conditions.range(column));
+            }
+            return List.of(new Conditions());
+        }
+        if (predicate instanceof SqmInListPredicate<?> in && !in.isNegated()) {
+            String column = column(in.getTestExpression(), root, persister);
+            return column != null ? List.of(Conditions.equality(column)) : referencesNoColumn(in.getTestExpression());
+        }
+        if (predicate instanceof SqmNullnessPredicate nullness && !nullness.isNegated()) {
+            String column = column(nullness.getExpression(), root, persister);
+            return column != null ? List.of(Conditions.equality(column)) : referencesNoColumn(nullness.getExpression());
+        }
+        if (predicate instanceof SqmBetweenPredicate between && !between.isNegated()) {
+            String column = column(between.getExpression(), root, persister);
+            return column != null ? List.of(Conditions.range(column)) : referencesNoColumn(between.getExpression());
+        }
+        // LIKE, negations and the rest cannot use a btree prefix
+        return List.of(new Conditions());
+    }
+
+    // Parameters and literals only; anything else (joined entities, functions) is treated as an unindexed column
+    private static List<Conditions> referencesNoColumn(SqmExpression<?>... expressions) {
+        for (SqmExpression<?> expression : expressions) {
+            if (expression instanceof SqmPath<?> || expression instanceof SqmFkExpression<?>) {
+                return List.of(new Conditions());
+            }
+        }
+        return null;
+    }
+
+    // Every combination of one alternative per AND-ed branch
+    private static List<Conditions> and(List<List<Conditions>> branches) {
+        List<Conditions> combined = List.of(new Conditions());
+        for (List<Conditions> branch : branches) {
+            List<Conditions> next = new ArrayList<>();
+            for (Conditions left : combined) {
+                for (Conditions right : branch) {
+                    next.add(left.and(right));
+                }
+            }
+            combined = next;
+        }
+        return combined;
+    }
+
+    private static List<Conditions> or(List<List<Conditions>> branches) {
+        List<Conditions> alternatives = new ArrayList<>();
+        branches.forEach(alternatives::addAll);
+        // Keyset predicates such as (a < :a OR (a = :a AND b < :b)) are a range on the column every branch shares
+        Set<String> shared = null;
+        for (Conditions alternative : alternatives) {
+            Set<String> columns = alternative.columns();
+            if (shared == null) {
+                shared = columns;
+            } else {
+                shared.retainAll(columns);
+            }
+        }
+        if (shared != null && !shared.isEmpty()) {
+            Conditions range = new Conditions();
+            range.range.addAll(shared);
+            return List.of(range);
+        }
+        return alternatives;
+    }
+
+    // The root table column an expression reads, following to-one joins only as far as their foreign key
+    private String column(SqmExpression<?> expression, SqmRoot<?> root, AbstractEntityPersister persister) {
+        if (expression instanceof SqmFkExpression<?> fk) {
+            return column(fk.getToOnePath(), root, persister);
+        }
+        if (!(expression instanceof SqmPath<?> path)) {
+            return null;
+        }
+        List<String> names = new ArrayList<>();
+        SqmPath<?> current = path;
+        while (current != null && current != root) {
+            names.add(0, current.getReferencedPathSource().getPathName());
+            current = current.getLhs();
+        }
+        return current == root ? column(String.join(".", names), persister) : null;
+    }
+
+    // Derived queries
+
+    private List<Access> analyzeDerived(SessionFactoryImplementor sessionFactory, String methodName, Class<?> domainType) {
+        AbstractEntityPersister persister = persister(sessionFactory, domainType.getName());
+        PartTree tree = new PartTree(methodName, domainType);
+
+        List<String> order = new ArrayList<>();
+        for (Sort.Order sort : tree.getSort()) {
+            String column = column(sort.getProperty(), persister);
+            if (column == null) {
+                break;
+            }
+            order.add(column);
+        }
+
+        List<Access> accesses = new ArrayList<>();
+        for (PartTree.OrPart orPart : tree) {
+            Conditions conditions = new Conditions();
+            for (Part part : orPart) {
+                String column = column(part.getProperty().toDotPath(), persister);
+                if (column == null) {
+                    continue;
+                }
+                switch (part.getType()) {
+                    case SIMPLE_PROPERTY, IN, IS_NULL, TRUE, FALSE -> conditions.equality.add(column);
+                    case BETWEEN, LESS_THAN, LESS_THAN_EQUAL, GREATER_THAN, GREATER_THAN_EQUAL, BEFORE, AFTER ->
+                            conditions.range.add(column);
+                    default -> {
+                    }
+                }
+            }
+            accesses.add(new Access(persister.getTableName(), conditions, order));
+        }
+        return accesses.isEmpty() ? List.of(new Access(persister.getTableName(), new Conditions(), order)) : accesses;
+    }
+
+    // Mapping
+
+    private static AbstractEntityPersister persister(SessionFactoryImplementor sessionFactory, String entityName) {
+        return (AbstractEntityPersister) sessionFactory.getRuntimeMetamodels().getMappingMetamodel()
+                .getEntityDescriptor(entityName);
+    }
+
+    // A single column for "property", "association" or "association.id"; null for anything spanning tables
+    private static String column(String propertyPath, AbstractEntityPersister persister) {
+        String[] columns;
+        if (propertyPath.equals(persister.getIdentifierPropertyName())) {
+            columns = persister.getIdentifierColumnNames();
+        } else {
+            try {
+                columns = persister.getPropertyColumnNames(propertyPath);
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+        return columns != null && columns.length == 1 ? columns[0].toLowerCase() : null;
+    }
+
+    private static class Conditions {
+        private final Set<String> equality = new LinkedHashSet<>();
+        private final Set<String> range = new LinkedHashSet<>();
+
+        private static Conditions equality(String column) {
+            Conditions conditions = new Conditions();
+            conditions.equality.add(column);
+            return conditions;
+        }
+
+        private static Conditions range(String column) {
+            Conditions conditions = new Conditions();
+            conditions.range.add(column);
+            return conditions;
+        }
+
+        private Conditions and(Conditions other) {
+            Conditions combined = new Conditions();
+            combined.equality.addAll(equality);
+            combined.equality.addAll(other.equality);
+            combined.range.addAll(range);
+            combined.range.addAll(other.range);
+            combined.range.removeAll(combined.equality);
+            return combined;
+        }
+
+        private Set<String> columns() {
+            Set<String> columns = new LinkedHashSet<>(equality);
+            columns.addAll(range);
+            return columns;
+        }
+    }
+
+    private static class Access {
+        private final String table;
+        private final Conditions conditions;
+        private final List<String> order;
+
+        private Access(String table, Conditions conditions, List<String> order) {
+            this.table = table;
+            this.conditions = conditions;
+            this.order = order;
+        }
+
+        private boolean isUnrestricted() {
+            return conditions.equality.isEmpty() && conditions.range.isEmpty() && order.isEmpty();
+        }
+
+        // Columns an index may lead with to serve the query
+        private Set<String> leadingCandidates() {
+            if (!conditions.equality.isEmpty()) {
+                return conditions.equality;
+            }
+            if (!conditions.range.isEmpty()) {
+                return conditions.range;
+            }
+            return Set.of(order.get(0));
+        }
+
+        // Equality columns first, then the sort order, or the range column when unsorted
+        private List<String> suggestedColumns() {
+            Set<String> columns = new LinkedHashSet<>(conditions.equality);
+            if (!order.isEmpty()) {
+                columns.addAll(order);
+            } else if (!conditions.range.isEmpty()) {
+                columns.add(conditions.range.iterator().next());
+            }
+            return new ArrayList<>(columns);
+        }
+
+        @Override
+        public String toString() {
+            List<String> parts = new ArrayList<>();
+            if (!conditions.equality.isEmpty()) {
+                parts.add("equals " + conditions.equality);
+            }
+            if (!conditions.range.isEmpty()) {
+                parts.add("range " + conditions.range);
+            }
+            if (!order.isEmpty()) {
+                parts.add("order " + order);
+            }
+            return String.join(", ", parts);
+        }
+    }
+}
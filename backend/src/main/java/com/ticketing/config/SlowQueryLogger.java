@@ -0,0 +1,185 @@
+package com.ticketing.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs SQL statements that took longer than {@code diagnostics.slow-query.threshold-ms}, with their
+ * bind parameters and the repository method (or, outside repositories, the application method)
+ * that ran them. Installed by {@link DatabaseConfig} as a listener on the proxied DataSource.
+ * Statements under the threshold cost one comparison; slow ones are all counted in
+ * {@code sql.slow.statements}, but only a sample is logged and at most
+ * {@code max-per-second} lines, so a struggling database cannot also flood the logs.
+ */
+@Component
+@ConditionalOnProperty(name = "diagnostics.slow-query.enabled", havingValue = "true")
+public class SlowQueryLogger implements QueryExecutionListener {
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryLogger.class);
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${diagnostics.slow-query.threshold-ms:200}")
+    private long thresholdMs;
+
+    @Value("${diagnostics.slow-query.sample-rate:1.0}")
+    private double sampleRate;
+
+    @Value("${diagnostics.slow-query.max-per-second:10}")
+    private int maxPerSecond;
+
+    @Value("${diagnostics.slow-query.max-parameter-length:100}")
+    private int maxParameterLength;
+
+    private Counter slowStatements;
+    private final AtomicLong window = new AtomicLong();
+    private final AtomicInteger loggedInWindow = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    @PostConstruct
+    public void initMetrics() {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            slowStatements = Counter.builder("sql.slow.statements")
+                    .description("SQL statements slower than diagnostics.slow-query.threshold-ms, logged or not")
+                    .register(registry);
+        }
+        logger.info("Logging SQL statements slower than {} ms (sample rate {})", thresholdMs, sampleRate);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMs = execInfo.getElapsedTime();
+        if (elapsedMs < thresholdMs) {
+            return;
+        }
+        if (slowStatements != null) {
+            slowStatements.increment();
+        }
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        if (!acquireLogSlot()) {
+            suppressed.incrementAndGet();
+            return;
+        }
+
+        long skipped = suppressed.getAndSet(0);
+        logger.warn("Slow SQL ({} ms{}) from {}: {}{}{}",
+                elapsedMs,
+                execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "",
+                caller(),
+                describe(queryInfoList),
+                execInfo.isSuccess() ? "" : " failed with " + execInfo.getThrowable(),
+                skipped > 0 ? " (" + skipped + " more over the rate limit since the last one)" : "");
+    }
+
+    // At most maxPerSecond lines per wall-clock second
+    private boolean acquireLogSlot() {
+        long second = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        long current = window.get();
+        if (current != second && window.compareAndSet(current, second)) {
+            loggedInWindow.set(0);
+        }
+        return loggedInWindow.incrementAndGet() <= maxPerSecond;
+    }
+
+    /**
+     * Spring Data repositories are JDK proxies, so the first proxy frame implementing a
+     * com.ticketing.repository interface names the query method. Statements issued elsewhere
+     * (flushes at commit, JdbcTemplate) fall back to the innermost application frame.
+     */
+    private static String caller() {
+        return STACK_WALKER.walk(frames -> {
+            String fallback = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                Class<?> type = frame.getDeclaringClass();
+                if (Proxy.isProxyClass(type)) {
+                    for (Class<?> contract : type.getInterfaces()) {
+                        if (contract.getName().startsWith("com.ticketing.repository.")) {
+                            return contract.getSimpleName() + "." + frame.getMethodName();
+                        }
+                    }
+                } else if (fallback == null && type != SlowQueryLogger.class && type.getName().startsWith("com.ticketing.")) {
+                    String name = type.getSimpleName();
+                    int cglib = name.indexOf("$$");
+                    fallback = (cglib > 0 ? name.substring(0, cglib) : name) + "." + frame.getMethodName();
+                }
+            }
+            return fallback != null ? fallback : "unknown";
+        });
+    }
+
+    private String describe(List<QueryInfo> queryInfoList) {
+        StringJoiner statements = new StringJoiner("; ");
+        for (QueryInfo queryInfo : queryInfoList) {
+            String sql = queryInfo.getQuery().replaceAll("\\s+", " ").trim();
+            List<List<ParameterSetOperation>> parameters = queryInfo.getParametersList();
+            if (parameters.isEmpty() || parameters.get(0).isEmpty()) {
+                statements.add(sql);
+                continue;
+            }
+            // A batch repeats the statement; the first row of parameters is representative
+            String more = parameters.size() > 1 ? " (+" + (parameters.size() - 1) + " more rows)" : "";
+            statements.add(sql + " " + formatParameters(parameters.get(0)) + more);
+        }
+        return statements.toString();
+    }
+
+    private String formatParameters(List<ParameterSetOperation> operations) {
+        StringJoiner joined = new StringJoiner(", ", "[", "]");
+        for (ParameterSetOperation operation : operations) {
+            Object[] args = operation.getArgs();
+            if (args == null || args.length == 0 || ParameterSetOperation.isRegisterOutParameterOperation(operation)) {
+                continue;
+            }
+            Object value = ParameterSetOperation.isSetNullParameterOperation(operation) || args.length < 2 ? null : args[1];
+            joined.add(args[0] + "=" + formatValue(value));
+        }
+        return joined.toString();
+    }
+
+    private String formatValue(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        String text = value.toString();
+        // Password hashes are the one credential the application binds
+        if (text.startsWith("$2a$") || text.startsWith("$2b$") || text.startsWith("$2y$")) {
+            return "'<password hash>'";
+        }
+        if (text.length() > maxParameterLength) {
+            text = text.substring(0, maxParameterLength) + "...(" + text.length() + " chars)";
+        }
+        return value instanceof CharSequence ? "'" + text + "'" : text;
+    }
+}
@@ -0,0 +1,47 @@
+package com.ticketing.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Reports how many SQL statements each API request executed, so N+1 regressions show up in the
+ * logs during development and load tests. Runs ahead of the security chain so principal lookups
+ * are included. Requests above the threshold are logged as warnings.
+ */
+@Component
+@ConditionalOnProperty(name = "diagnostics.sql-count.enabled", havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementCountFilter.class);
+
+    @Value("${diagnostics.sql-count.warn-threshold:10}")
+    private int warnThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int count = SqlStatementCounter.get();
+            if (count > warnThreshold) {
+                logger.warn("{} {} executed {} SQL statements", request.getMethod(), request.getRequestURI(), count);
+            } else {
+                logger.debug("{} {} executed {} SQL statements", request.getMethod(), request.getRequestURI(), count);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.ticketing.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Opt-in virtual thread mode (threads.virtual.enabled). Tomcat hands each request to a new
+ * virtual thread instead of its bounded worker pool, so requests blocked on JDBC or SMTP no
+ * longer hold a platform thread. Has no effect on runtimes older than Java 21.
+ */
+@Configuration
+@ConditionalOnProperty(name = "threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            if (!VirtualThreads.isSupported()) {
+                logger.warn("threads.virtual.enabled is set but Java {} has no virtual threads; keeping the platform thread pool",
+                        Runtime.version().feature());
+                return;
+            }
+            protocolHandler.setExecutor(VirtualThreads.newThreadPerTaskExecutor("tomcat-handler-"));
+            logger.info("Tomcat request handling runs on virtual threads");
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package com.ticketing.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier, typically while blocking inside a
+ * synchronized block or native frame, using the JFR jdk.VirtualThreadPinned event. Each distinct
+ * pinning site is logged with its stack the first time and counted afterwards. A site is the first
+ * frame outside the JDK, since the top frames are always the park or monitor code that pinned.
+ */
+@Component
+@ConditionalOnProperty(name = "threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    // Frames logged below the pinning site, for the caller context
+    private static final int LOGGED_CALLER_FRAMES = 8;
+
+    @Value("${threads.virtual.pinned-threshold-ms:20}")
+    private long pinnedThresholdMs;
+
+    private final Map<String, AtomicLong> pinnedSites = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    @PostConstruct
+    public void start() {
+        if (!VirtualThreads.isSupported()) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(pinnedThresholdMs)).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        stream.startAsync();
+        logger.info("Reporting virtual threads pinned for longer than {} ms", pinnedThresholdMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    public Map<String, Long> getPinnedSites() {
+        Map<String, Long> counts = new ConcurrentHashMap<>();
+        pinnedSites.forEach((site, count) -> counts.put(site, count.get()));
+        return counts;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() != null ? event.getStackTrace().getFrames() : List.of();
+        int siteIndex = siteIndex(frames);
+        String site = frames.isEmpty() ? "unknown" : describe(frames.get(Math.max(siteIndex, 0)));
+        long count = pinnedSites.computeIfAbsent(site, key -> new AtomicLong()).incrementAndGet();
+        if (count == 1) {
+            StringBuilder stack = new StringBuilder();
+            // A stack with no application frame at all is logged as far as it was recorded
+            long logged = siteIndex < 0 ? frames.size() : siteIndex + 1L + LOGGED_CALLER_FRAMES;
+            frames.stream().limit(logged).forEach(frame -> stack.append("\n\tat ").append(describe(frame)));
+            logger.warn("Virtual thread pinned for {} ms{}", event.getDuration().toMillis(), stack);
+        } else {
+            logger.debug("Virtual thread pinned for {} ms at {} ({} times)", event.getDuration().toMillis(), site, count);
+        }
+    }
+
+    private static int siteIndex(List<RecordedFrame> frames) {
+        for (int i = 0; i < frames.size(); i++) {
+            String type = frames.get(i).getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.")) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -1,18 +1,33 @@
 package com.ticketing.controller;
 
+import com.ticketing.dto.BulkTicketRequest;
+import com.ticketing.dto.BulkTicketResponse;
+import com.ticketing.dto.ImportResponse;
 import com.ticketing.dto.MessageResponse;
 import com.ticketing.dto.SignupRequest;
+import com.ticketing.dto.TicketCursor;
+import com.ticketing.dto.TicketDetail;
+import com.ticketing.dto.TicketPage;
+import com.ticketing.dto.UserView;
 import com.ticketing.model.Role;
 import com.ticketing.model.Ticket;
 import com.ticketing.model.User;
+import com.ticketing.service.ConnectionPoolService;
+import com.ticketing.service.DashboardStatsService;
+import com.ticketing.service.EntityCacheService;
+import com.ticketing.service.TicketImportService;
 import com.ticketing.service.TicketService;
 import com.ticketing.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -28,9 +43,21 @@ public class AdminController {
     @Autowired
     private TicketService ticketService;
 
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private TicketImportService ticketImportService;
+
+    @Autowired
+    private ConnectionPoolService connectionPoolService;
+
     @GetMapping("/users")
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
+    public ResponseEntity<List<UserView>> getAllUsers() {
+        List<UserView> users = userService.getAllUsers();
         return ResponseEntity.ok(users);
     }
 
@@ -49,14 +76,14 @@ public class AdminController {
         }
 
         User user = userService.createUser(signUpRequest);
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok(UserView.from(user));
     }
 
     @PutMapping("/users/{id}")
     public ResponseEntity<?> updateUser(@PathVariable Long id, @RequestBody User userUpdate) {
         try {
             User updatedUser = userService.updateUser(id, userUpdate);
-            return ResponseEntity.ok(updatedUser);
+            return ResponseEntity.ok(UserView.from(updatedUser));
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -74,15 +101,22 @@ public class AdminController {
     }
 
     @GetMapping("/users/support-agents")
-    public ResponseEntity<List<User>> getSupportAgents() {
-        List<User> supportAgents = userService.getActiveSupportAgents();
+    public ResponseEntity<List<UserView>> getSupportAgents() {
+        List<UserView> supportAgents = userService.getActiveSupportAgents();
         return ResponseEntity.ok(supportAgents);
     }
 
     @GetMapping("/tickets")
-    public ResponseEntity<List<Ticket>> getAllTickets() {
-        List<Ticket> tickets = ticketService.getAllTickets();
-        return ResponseEntity.ok(tickets);
+    public ResponseEntity<?> getAllTickets(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TicketService.DEFAULT_PAGE_SIZE) int size) {
+        try {
+            TicketCursor position = cursor != null ? TicketCursor.decode(cursor) : null;
+            TicketPage page = ticketService.getTicketsPage(position, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Invalid cursor"));
+        }
     }
 
     @PutMapping("/tickets/{id}/force-assign")
@@ -110,7 +144,7 @@ public class AdminController {
         // Admin can force assign any ticket
         User admin = userService.getUserById(1L).orElse(null); // Assuming admin user for audit
         Ticket updatedTicket = ticketService.assignTicket(id, assignee, admin);
-        return ResponseEntity.ok(updatedTicket);
+        return ResponseEntity.ok(TicketDetail.from(updatedTicket));
     }
 
     @PutMapping("/tickets/{id}/force-status")
@@ -129,7 +163,7 @@ public class AdminController {
             com.ticketing.model.Status status = com.ticketing.model.Status.valueOf(statusStr);
             User admin = userService.getUserById(1L).orElse(null); // Assuming admin user for audit
             Ticket updatedTicket = ticketService.updateTicketStatus(id, status, admin);
-            return ResponseEntity.ok(updatedTicket);
+            return ResponseEntity.ok(TicketDetail.from(updatedTicket));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(new MessageResponse("Invalid status"));
         }
@@ -146,38 +180,86 @@ public class AdminController {
         return ResponseEntity.ok(new MessageResponse("Ticket deleted successfully"));
     }
 
+    @PutMapping("/tickets/bulk/assign")
+    public ResponseEntity<?> bulkAssignTickets(@Valid @RequestBody BulkTicketRequest request, Authentication authentication) {
+        if (request.getAssigneeId() == null) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Assignee ID is required"));
+        }
+
+        Optional<User> assigneeOpt = userService.getUserById(request.getAssigneeId());
+        if (assigneeOpt.isEmpty()) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Assignee not found"));
+        }
+
+        User assignee = assigneeOpt.get();
+        if (assignee.getRole() != Role.SUPPORT_AGENT && assignee.getRole() != Role.ADMIN) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Can only assign to support agents or admins"));
+        }
+
+        User admin = (User) authentication.getPrincipal();
+        int affected = ticketService.bulkAssign(request.getTicketIds(), assignee, admin);
+        return ResponseEntity.ok(new BulkTicketResponse(request.getTicketIds().size(), affected));
+    }
+
+    @PutMapping("/tickets/bulk/status")
+    public ResponseEntity<?> bulkUpdateTicketStatus(@Valid @RequestBody BulkTicketRequest request, Authentication authentication) {
+        if (request.getStatus() == null) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Status is required"));
+        }
+
+        User admin = (User) authentication.getPrincipal();
+        int affected = ticketService.bulkUpdateStatus(request.getTicketIds(), request.getStatus(), admin);
+        return ResponseEntity.ok(new BulkTicketResponse(request.getTicketIds().size(), affected));
+    }
+
+    @PostMapping("/tickets/bulk/delete")
+    public ResponseEntity<?> bulkDeleteTickets(@Valid @RequestBody BulkTicketRequest request) {
+        int affected = ticketService.bulkDelete(request.getTicketIds());
+        return ResponseEntity.ok(new BulkTicketResponse(request.getTicketIds().size(), affected));
+    }
+
+    @PostMapping("/import/tickets")
+    public ResponseEntity<?> importTickets(@RequestParam("file") MultipartFile file) {
+        try (InputStream input = file.getInputStream()) {
+            ImportResponse result = ticketImportService.importTickets(input);
+            // Imported rows bypass the per-write counter updates
+            dashboardStatsService.reconcile();
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Could not read import file: " + e.getMessage()));
+        }
+    }
+
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getDashboardStats() {
-        List<User> allUsers = userService.getAllUsers();
-        List<Ticket> allTickets = ticketService.getAllTickets();
-        
-        long userCount = allUsers.size();
-        long adminCount = allUsers.stream().filter(u -> u.getRole() == Role.ADMIN).count();
-        long supportAgentCount = allUsers.stream().filter(u -> u.getRole() == Role.SUPPORT_AGENT).count();
-        long regularUserCount = allUsers.stream().filter(u -> u.getRole() == Role.USER).count();
-        
-        long totalTickets = allTickets.size();
-        long openTickets = allTickets.stream().filter(t -> t.getStatus() == com.ticketing.model.Status.OPEN).count();
-        long inProgressTickets = allTickets.stream().filter(t -> t.getStatus() == com.ticketing.model.Status.IN_PROGRESS).count();
-        long resolvedTickets = allTickets.stream().filter(t -> t.getStatus() == com.ticketing.model.Status.RESOLVED).count();
-        long closedTickets = allTickets.stream().filter(t -> t.getStatus() == com.ticketing.model.Status.CLOSED).count();
-        
-        Map<String, Object> stats = Map.of(
-            "users", Map.of(
-                "total", userCount,
-                "admins", adminCount,
-                "supportAgents", supportAgentCount,
-                "regularUsers", regularUserCount
-            ),
-            "tickets", Map.of(
-                "total", totalTickets,
-                "open", openTickets,
-                "inProgress", inProgressTickets,
-                "resolved", resolvedTickets,
-                "closed", closedTickets
-            )
-        );
-        
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(dashboardStatsService.getDashboardStats());
+    }
+
+    @GetMapping("/database/pool")
+    public ResponseEntity<Map<String, Object>> getConnectionPoolStats() {
+        return ResponseEntity.ok(connectionPoolService.getPoolStats());
+    }
+
+    @GetMapping("/cache")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(entityCacheService.getStatistics());
+    }
+
+    @PutMapping("/cache/statistics")
+    public ResponseEntity<?> setCacheStatistics(@RequestBody Map<String, Boolean> request) {
+        Boolean enabled = request.get("enabled");
+        if (enabled == null) {
+            return ResponseEntity.badRequest().body(new MessageResponse("enabled is required"));
+        }
+        entityCacheService.setStatisticsEnabled(enabled);
+        return ResponseEntity.ok(entityCacheService.getStatistics());
+    }
+
+    @DeleteMapping("/cache")
+    public ResponseEntity<?> evictCache() {
+        entityCacheService.evictAll();
+        return ResponseEntity.ok(new MessageResponse("Second-level cache cleared"));
     }
 }
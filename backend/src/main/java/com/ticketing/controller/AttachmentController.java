@@ -0,0 +1,225 @@
+package com.ticketing.controller;
+
+import com.ticketing.dto.AttachmentView;
+import com.ticketing.dto.MessageResponse;
+import com.ticketing.model.Attachment;
+import com.ticketing.model.Ticket;
+import com.ticketing.model.User;
+import com.ticketing.service.AttachmentService;
+import com.ticketing.service.TicketService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/tickets/{id}/attachments")
+public class AttachmentController {
+    // Tomcat serves the file itself via sendfile(2) when these request attributes are set
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private AttachmentService attachmentService;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> uploadAttachment(@PathVariable Long id, @RequestParam("file") MultipartFile file,
+                                              Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        Optional<Ticket> ticketOpt = ticketService.getTicketById(id);
+
+        if (ticketOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Ticket ticket = ticketOpt.get();
+        if (!ticketService.canUserAccessTicket(user, ticket)) {
+            return ResponseEntity.status(403).body(new MessageResponse("Access denied"));
+        }
+
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body(new MessageResponse("File is empty"));
+        }
+
+        try {
+            Attachment attachment = attachmentService.addAttachment(ticket, file, user);
+            return ResponseEntity.ok(AttachmentView.from(attachment));
+        } catch (IOException e) {
+            return ResponseEntity.internalServerError().body(new MessageResponse("Failed to store attachment"));
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<?> getAttachments(@PathVariable Long id, Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        Optional<Ticket> ticketOpt = ticketService.getTicketById(id);
+
+        if (ticketOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Ticket ticket = ticketOpt.get();
+        if (!ticketService.canUserAccessTicket(user, ticket)) {
+            return ResponseEntity.status(403).body(new MessageResponse("Access denied"));
+        }
+
+        List<AttachmentView> attachments = attachmentService.getTicketAttachments(ticket);
+        return ResponseEntity.ok(attachments);
+    }
+
+    @GetMapping("/{attachmentId}")
+    public ResponseEntity<?> downloadAttachment(@PathVariable Long id, @PathVariable Long attachmentId,
+                                                Authentication authentication,
+                                                HttpServletRequest request,
+                                                HttpServletResponse response) throws IOException {
+        User user = (User) authentication.getPrincipal();
+        Optional<Ticket> ticketOpt = ticketService.getTicketById(id);
+
+        if (ticketOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Ticket ticket = ticketOpt.get();
+        if (!ticketService.canUserAccessTicket(user, ticket)) {
+            return ResponseEntity.status(403).body(new MessageResponse("Access denied"));
+        }
+
+        Optional<Attachment> attachmentOpt = attachmentService.getAttachment(ticket, attachmentId);
+        if (attachmentOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Attachment attachment = attachmentOpt.get();
+        Path file = attachmentService.resolveFile(attachment);
+        if (!Files.isReadable(file)) {
+            return ResponseEntity.status(HttpStatus.GONE).body(new MessageResponse("Attachment content is missing"));
+        }
+
+        // Content is addressed by its hash, so the hash is a strong validator
+        String etag = "\"" + attachment.getContentHash() + "\"";
+        if (attachment.getContentHash() != null && etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        long fileLength = Files.size(file);
+        long start = 0;
+        long end = fileLength - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        boolean partial = false;
+        if (range != null) {
+            long[] bounds = parseRange(range, fileLength);
+            if (bounds == null) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + fileLength)
+                        .build();
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                partial = true;
+            }
+        }
+
+        long length = end - start + 1;
+        response.setStatus(partial ? HttpServletResponse.SC_PARTIAL_CONTENT : HttpServletResponse.SC_OK);
+        response.setContentType(attachment.getContentType() != null
+                ? attachment.getContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setContentLengthLong(length);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(attachment.getFileName(), StandardCharsets.UTF_8).build().toString());
+        if (attachment.getContentHash() != null) {
+            response.setHeader(HttpHeaders.ETAG, etag);
+        }
+        if (partial) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + fileLength);
+        }
+
+        if (length > 0) {
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                request.setAttribute(SENDFILE_FILENAME, file.toString());
+                request.setAttribute(SENDFILE_START, start);
+                request.setAttribute(SENDFILE_END, end + 1);
+            } else {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+                    long position = start;
+                    long remaining = length;
+                    while (remaining > 0) {
+                        long sent = channel.transferTo(position, remaining, out);
+                        if (sent <= 0) {
+                            break;
+                        }
+                        position += sent;
+                        remaining -= sent;
+                    }
+                }
+            }
+        }
+
+        // Response has been written directly
+        return null;
+    }
+
+    /**
+     * Parses a single "bytes=" range. Returns {start, end} (inclusive) for a satisfiable range, an
+     * empty array when the header should be ignored and the full file sent, or null when unsatisfiable.
+     */
+    private static long[] parseRange(String header, long fileLength) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return null;
+                }
+                start = Math.max(0, fileLength - suffix);
+                end = fileLength - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? fileLength - 1 : Math.min(Long.parseLong(last), fileLength - 1);
+            }
+            if (start >= fileLength || start > end) {
+                return null;
+            }
+            return new long[] {start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
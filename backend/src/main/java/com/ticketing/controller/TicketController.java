@@ -1,14 +1,29 @@
 package com.ticketing.controller;
 
 import com.ticketing.dto.CommentRequest;
+import com.ticketing.dto.CommentView;
 import com.ticketing.dto.MessageResponse;
+import com.ticketing.dto.TicketCursor;
+import com.ticketing.dto.TicketDetail;
+import com.ticketing.dto.TicketPage;
 import com.ticketing.dto.TicketRequest;
+import com.ticketing.dto.TicketSummary;
+import com.ticketing.dto.TicketSyncToken;
 import com.ticketing.model.*;
 import com.ticketing.service.CommentService;
+import com.ticketing.service.DashboardStatsService;
 import com.ticketing.service.TicketService;
+import com.ticketing.service.TicketStreamService;
+import com.ticketing.service.TicketSyncService;
 import com.ticketing.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -31,33 +46,99 @@ public class TicketController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private TicketStreamService ticketStreamService;
+
+    @Autowired
+    private TicketSyncService ticketSyncService;
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Value("${tickets.require-if-match:false}")
+    private boolean requireIfMatch;
+
     @PostMapping
     public ResponseEntity<?> createTicket(@Valid @RequestBody TicketRequest ticketRequest, Authentication authentication) {
         User user = (User) authentication.getPrincipal();
         Ticket ticket = ticketService.createTicket(ticketRequest, user);
-        return ResponseEntity.ok(ticket);
+        return ResponseEntity.ok(TicketDetail.from(ticket));
     }
 
     @GetMapping
-    public ResponseEntity<List<Ticket>> getUserTickets(Authentication authentication) {
+    public ResponseEntity<?> getUserTickets(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TicketService.DEFAULT_PAGE_SIZE) int size,
+            Authentication authentication) {
         User user = (User) authentication.getPrincipal();
-        List<Ticket> tickets;
-        
+
+        TicketCursor position;
+        try {
+            position = cursor != null ? TicketCursor.decode(cursor) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Invalid cursor"));
+        }
+
+        TicketPage page;
         if (user.getRole() == Role.ADMIN) {
-            tickets = ticketService.getAllTickets();
+            page = ticketService.getTicketsPage(position, size);
         } else if (user.getRole() == Role.SUPPORT_AGENT) {
-            tickets = ticketService.getUserRelatedTickets(user);
+            page = ticketService.getUserRelatedTicketsPage(user, position, size);
         } else {
-            tickets = ticketService.getUserTickets(user);
+            page = ticketService.getUserTicketsPage(user, position, size);
         }
         
-        return ResponseEntity.ok(tickets);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<?> getTicketStats(Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        if (user.getRole() == Role.ADMIN) {
+            return ResponseEntity.ok(dashboardStatsService.getTicketCounts());
+        }
+        return ResponseEntity.ok(ticketService.getTicketStats(user));
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<?> getTicketChanges(
+            @RequestParam String since,
+            @RequestParam(defaultValue = "" + TicketSyncService.DEFAULT_PAGE_SIZE) int size,
+            Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+
+        TicketSyncToken token;
+        try {
+            token = TicketSyncToken.parse(since);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Invalid sync token"));
+        }
+        if (ticketSyncService.isExpired(token)) {
+            return ResponseEntity.status(HttpStatus.GONE).body(new MessageResponse("Sync token expired, reload the ticket list"));
+        }
+
+        return ResponseEntity.ok(ticketSyncService.getChanges(user, token, size));
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<?> streamTicketEvents(Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        try {
+            return ResponseEntity.ok(ticketStreamService.subscribe(user));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(new MessageResponse(e.getMessage()));
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getTicket(@PathVariable Long id, Authentication authentication) {
+    public ResponseEntity<?> getTicket(@PathVariable Long id,
+                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                       Authentication authentication) {
         User user = (User) authentication.getPrincipal();
-        Optional<Ticket> ticketOpt = ticketService.getTicketById(id);
+        // Revalidation goes through the second-level cache, so an unchanged ticket usually costs no query
+        Optional<Ticket> ticketOpt = ifNoneMatch != null ? ticketService.getTicketById(id) : ticketService.getTicketWithUsers(id);
         
         if (ticketOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
@@ -67,13 +148,20 @@ public class TicketController {
         if (!ticketService.canUserAccessTicket(user, ticket)) {
             return ResponseEntity.status(403).body(new MessageResponse("Access denied"));
         }
-        
-        return ResponseEntity.ok(ticket);
+
+        // Private and always revalidated, so browsers resend the ETag instead of serving a stale copy
+        String etag = etagOf(ticket);
+        if (ifNoneMatch != null && noneMatchHits(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()).body(TicketDetail.from(ticket));
     }
 
     @PutMapping("/{id}/status")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPPORT_AGENT')")
-    public ResponseEntity<?> updateTicketStatus(@PathVariable Long id, @RequestBody Map<String, String> request, Authentication authentication) {
+    public ResponseEntity<?> updateTicketStatus(@PathVariable Long id, @RequestBody Map<String, String> request,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                Authentication authentication) {
         User user = (User) authentication.getPrincipal();
         Optional<Ticket> ticketOpt = ticketService.getTicketById(id);
         
@@ -86,10 +174,16 @@ public class TicketController {
             return ResponseEntity.status(403).body(new MessageResponse("Access denied"));
         }
         
+        if (ifMatch == null && requireIfMatch) {
+            return ifMatchRequired();
+        }
+
         try {
             Status status = Status.valueOf(request.get("status"));
-            Ticket updatedTicket = ticketService.updateTicketStatus(id, status, user);
-            return ResponseEntity.ok(updatedTicket);
+            Ticket updatedTicket = ticketService.updateTicketStatus(id, status, user, expectedVersion(ifMatch));
+            return ResponseEntity.ok().eTag(etagOf(updatedTicket)).body(TicketDetail.from(updatedTicket));
+        } catch (OptimisticLockingFailureException e) {
+            return modifiedConcurrently(ifMatch);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(new MessageResponse("Invalid status"));
         }
@@ -97,7 +191,9 @@ public class TicketController {
 
     @PutMapping("/{id}/assign")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPPORT_AGENT')")
-    public ResponseEntity<?> assignTicket(@PathVariable Long id, @RequestBody Map<String, Long> request, Authentication authentication) {
+    public ResponseEntity<?> assignTicket(@PathVariable Long id, @RequestBody Map<String, Long> request,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                          Authentication authentication) {
         User user = (User) authentication.getPrincipal();
         Optional<Ticket> ticketOpt = ticketService.getTicketById(id);
         
@@ -117,8 +213,16 @@ public class TicketController {
             return ResponseEntity.badRequest().body(new MessageResponse("Can only assign to support agents or admins"));
         }
         
-        Ticket updatedTicket = ticketService.assignTicket(id, assignee, user);
-        return ResponseEntity.ok(updatedTicket);
+        if (ifMatch == null && requireIfMatch) {
+            return ifMatchRequired();
+        }
+
+        try {
+            Ticket updatedTicket = ticketService.assignTicket(id, assignee, user, expectedVersion(ifMatch));
+            return ResponseEntity.ok().eTag(etagOf(updatedTicket)).body(TicketDetail.from(updatedTicket));
+        } catch (OptimisticLockingFailureException e) {
+            return modifiedConcurrently(ifMatch);
+        }
     }
 
     @PostMapping("/{id}/comments")
@@ -136,7 +240,7 @@ public class TicketController {
         }
         
         Comment comment = commentService.addComment(commentRequest, ticket, user);
-        return ResponseEntity.ok(comment);
+        return ResponseEntity.ok(CommentView.from(comment));
     }
 
     @GetMapping("/{id}/comments")
@@ -153,13 +257,18 @@ public class TicketController {
             return ResponseEntity.status(403).body(new MessageResponse("Access denied"));
         }
         
-        List<Comment> comments = commentService.getTicketComments(ticket);
+        List<CommentView> comments = commentService.getTicketComments(ticket);
         return ResponseEntity.ok(comments);
     }
 
     @PostMapping("/{id}/rate")
-    public ResponseEntity<?> rateTicket(@PathVariable Long id, @RequestBody Map<String, Object> request, Authentication authentication) {
+    public ResponseEntity<?> rateTicket(@PathVariable Long id, @RequestBody Map<String, Object> request,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                        Authentication authentication) {
         User user = (User) authentication.getPrincipal();
+        if (ifMatch == null && requireIfMatch) {
+            return ifMatchRequired();
+        }
         
         try {
             Integer rating = (Integer) request.get("rating");
@@ -169,20 +278,24 @@ public class TicketController {
                 return ResponseEntity.badRequest().body(new MessageResponse("Rating must be between 1 and 5"));
             }
             
-            Ticket updatedTicket = ticketService.rateTicket(id, rating, feedback, user);
-            return ResponseEntity.ok(updatedTicket);
+            Ticket updatedTicket = ticketService.rateTicket(id, rating, feedback, user, expectedVersion(ifMatch));
+            return ResponseEntity.ok().eTag(etagOf(updatedTicket)).body(TicketDetail.from(updatedTicket));
+        } catch (OptimisticLockingFailureException e) {
+            return modifiedConcurrently(ifMatch);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
         }
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Ticket>> searchTickets(
+    public ResponseEntity<List<TicketSummary>> searchTickets(
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String priority,
             @RequestParam(required = false) Long assigneeId,
             @RequestParam(required = false) Long creatorId,
             @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + TicketService.DEFAULT_PAGE_SIZE) int size,
             Authentication authentication) {
         
         User user = (User) authentication.getPrincipal();
@@ -197,13 +310,59 @@ public class TicketController {
             return ResponseEntity.badRequest().build();
         }
         
-        List<Ticket> tickets;
+        List<TicketSummary> tickets;
         if (user.getRole() == Role.ADMIN) {
-            tickets = ticketService.searchTickets(statusEnum, priorityEnum, assigneeId, creatorId, search);
+            tickets = ticketService.searchTickets(statusEnum, priorityEnum, assigneeId, creatorId, search, page, size);
         } else {
-            tickets = ticketService.searchUserTickets(user, statusEnum, priorityEnum, search);
+            tickets = ticketService.searchUserTickets(user, statusEnum, priorityEnum, search, page, size);
         }
         
         return ResponseEntity.ok(tickets);
     }
+
+    // Strong ETag from the ticket's version column
+    private static String etagOf(Ticket ticket) {
+        return "\"" + ticket.getVersion() + "\"";
+    }
+
+    // Weak comparison over a comma-separated list, as If-None-Match allows
+    private static boolean noneMatchHits(String ifNoneMatch, String etag) {
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The version named by If-Match; null when absent or "*", -1 (never current) when it is not one of our tags
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    private static ResponseEntity<?> ifMatchRequired() {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED)
+                .body(new MessageResponse("If-Match header with the ticket's ETag is required"));
+    }
+
+    // 412 when the client's If-Match was stale, 409 when a concurrent write won the race
+    private static ResponseEntity<?> modifiedConcurrently(String ifMatch) {
+        return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT)
+                .body(new MessageResponse("Ticket was modified by someone else, reload it and try again"));
+    }
 }
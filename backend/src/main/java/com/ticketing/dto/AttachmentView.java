@@ -0,0 +1,62 @@
+package com.ticketing.dto;
+
+import com.ticketing.model.Attachment;
+
+import java.time.LocalDateTime;
+
+public class AttachmentView {
+    private final Long id;
+    private final String fileName;
+    private final String contentType;
+    private final Long fileSize;
+    private final String contentHash;
+    private final UserSummary uploadedBy;
+    private final LocalDateTime uploadedAt;
+
+    public AttachmentView(Long id, String fileName, String contentType, Long fileSize, String contentHash,
+                          Long uploaderId, String uploaderUsername, String uploaderFirstName, String uploaderLastName,
+                          LocalDateTime uploadedAt) {
+        this.id = id;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.fileSize = fileSize;
+        this.contentHash = contentHash;
+        this.uploadedBy = new UserSummary(uploaderId, uploaderUsername, uploaderFirstName, uploaderLastName);
+        this.uploadedAt = uploadedAt;
+    }
+
+    public static AttachmentView from(Attachment attachment) {
+        return new AttachmentView(attachment.getId(), attachment.getFileName(), attachment.getContentType(),
+                attachment.getFileSize(), attachment.getContentHash(), attachment.getUploadedBy().getId(),
+                attachment.getUploadedBy().getUsername(), attachment.getUploadedBy().getFirstName(),
+                attachment.getUploadedBy().getLastName(), attachment.getUploadedAt());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public UserSummary getUploadedBy() {
+        return uploadedBy;
+    }
+
+    public LocalDateTime getUploadedAt() {
+        return uploadedAt;
+    }
+}
@@ -0,0 +1,43 @@
+package com.ticketing.dto;
+
+import com.ticketing.model.Status;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BulkTicketRequest {
+    public static final int MAX_TICKETS = 10000;
+
+    @NotEmpty
+    @Size(max = MAX_TICKETS)
+    private List<Long> ticketIds;
+
+    private Long assigneeId;
+
+    private Status status;
+
+    public List<Long> getTicketIds() {
+        return ticketIds;
+    }
+
+    public void setTicketIds(List<Long> ticketIds) {
+        this.ticketIds = ticketIds;
+    }
+
+    public Long getAssigneeId() {
+        return assigneeId;
+    }
+
+    public void setAssigneeId(Long assigneeId) {
+        this.assigneeId = assigneeId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,19 @@
+package com.ticketing.dto;
+
+public class BulkTicketResponse {
+    private int requested;
+    private int affected;
+
+    public BulkTicketResponse(int requested, int affected) {
+        this.requested = requested;
+        this.affected = affected;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public int getAffected() {
+        return affected;
+    }
+}
@@ -0,0 +1,42 @@
+package com.ticketing.dto;
+
+import com.ticketing.model.Comment;
+
+import java.time.LocalDateTime;
+
+public class CommentView {
+    private final Long id;
+    private final String content;
+    private final UserSummary author;
+    private final LocalDateTime createdAt;
+
+    public CommentView(Long id, String content, Long authorId, String authorUsername,
+                       String authorFirstName, String authorLastName, LocalDateTime createdAt) {
+        this.id = id;
+        this.content = content;
+        this.author = new UserSummary(authorId, authorUsername, authorFirstName, authorLastName);
+        this.createdAt = createdAt;
+    }
+
+    public static CommentView from(Comment comment) {
+        return new CommentView(comment.getId(), comment.getContent(), comment.getAuthor().getId(),
+                comment.getAuthor().getUsername(), comment.getAuthor().getFirstName(),
+                comment.getAuthor().getLastName(), comment.getCreatedAt());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public UserSummary getAuthor() {
+        return author;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
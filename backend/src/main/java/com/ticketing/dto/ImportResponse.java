@@ -0,0 +1,25 @@
+package com.ticketing.dto;
+
+public class ImportResponse {
+    private long tickets;
+    private long comments;
+    private long durationMs;
+
+    public ImportResponse(long tickets, long comments, long durationMs) {
+        this.tickets = tickets;
+        this.comments = comments;
+        this.durationMs = durationMs;
+    }
+
+    public long getTickets() {
+        return tickets;
+    }
+
+    public long getComments() {
+        return comments;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+}
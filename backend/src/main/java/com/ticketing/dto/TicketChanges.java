@@ -0,0 +1,60 @@
+package com.ticketing.dto;
+
+import java.util.List;
+
+public class TicketChanges {
+    private List<TicketSummary> changed;
+    private List<Long> deleted;
+    // Tickets that still exist but are no longer visible to the user, e.g. reassigned away from them
+    private List<Long> removed;
+    private String next;
+    private boolean hasMore;
+
+    public TicketChanges(List<TicketSummary> changed, List<Long> deleted, List<Long> removed, String next, boolean hasMore) {
+        this.changed = changed;
+        this.deleted = deleted;
+        this.removed = removed;
+        this.next = next;
+        this.hasMore = hasMore;
+    }
+
+    public List<TicketSummary> getChanged() {
+        return changed;
+    }
+
+    public void setChanged(List<TicketSummary> changed) {
+        this.changed = changed;
+    }
+
+    public List<Long> getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(List<Long> deleted) {
+        this.deleted = deleted;
+    }
+
+    public List<Long> getRemoved() {
+        return removed;
+    }
+
+    public void setRemoved(List<Long> removed) {
+        this.removed = removed;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,32 @@
+package com.ticketing.dto;
+
+import com.ticketing.model.Ticket;
+
+public class TicketDetail extends TicketSummary {
+    private final String description;
+    private final String feedback;
+    private final long version;
+
+    private TicketDetail(Ticket ticket) {
+        super(ticket);
+        this.description = ticket.getDescription();
+        this.feedback = ticket.getFeedback();
+        this.version = ticket.getVersion();
+    }
+
+    public static TicketDetail from(Ticket ticket) {
+        return new TicketDetail(ticket);
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getFeedback() {
+        return feedback;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
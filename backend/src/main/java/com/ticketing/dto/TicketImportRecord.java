@@ -0,0 +1,144 @@
+package com.ticketing.dto;
+
+import com.ticketing.model.Priority;
+import com.ticketing.model.Status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One ticket in a legacy helpdesk export. Users are referenced by username and must already exist.
+ * The export's updatedAt, if present, is ignored: imported tickets count as updated at import time.
+ */
+public class TicketImportRecord {
+    private String subject;
+    private String description;
+    private Priority priority = Priority.MEDIUM;
+    private Status status = Status.OPEN;
+    private String creator;
+    private String assignee;
+    private Integer rating;
+    private String feedback;
+    private LocalDateTime createdAt;
+    private LocalDateTime resolvedAt;
+    private List<CommentRecord> comments = new ArrayList<>();
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getCreator() {
+        return creator;
+    }
+
+    public void setCreator(String creator) {
+        this.creator = creator;
+    }
+
+    public String getAssignee() {
+        return assignee;
+    }
+
+    public void setAssignee(String assignee) {
+        this.assignee = assignee;
+    }
+
+    public Integer getRating() {
+        return rating;
+    }
+
+    public void setRating(Integer rating) {
+        this.rating = rating;
+    }
+
+    public String getFeedback() {
+        return feedback;
+    }
+
+    public void setFeedback(String feedback) {
+        this.feedback = feedback;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getResolvedAt() {
+        return resolvedAt;
+    }
+
+    public void setResolvedAt(LocalDateTime resolvedAt) {
+        this.resolvedAt = resolvedAt;
+    }
+
+    public List<CommentRecord> getComments() {
+        return comments;
+    }
+
+    public void setComments(List<CommentRecord> comments) {
+        this.comments = comments;
+    }
+
+    public static class CommentRecord {
+        private String author;
+        private String content;
+        private LocalDateTime createdAt;
+
+        public String getAuthor() {
+            return author;
+        }
+
+        public void setAuthor(String author) {
+            this.author = author;
+        }
+
+        public String getContent() {
+            return content;
+        }
+
+        public void setContent(String content) {
+            this.content = content;
+        }
+
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        public void setCreatedAt(LocalDateTime createdAt) {
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.ticketing.dto;
+
+
+import java.util.List;
+
+public class TicketPage {
+    private List<TicketSummary> items;
+    private String nextCursor;
+    private int size;
+
+    public TicketPage(List<TicketSummary> items, String nextCursor, int size) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.size = size;
+    }
+
+    public List<TicketSummary> getItems() {
+        return items;
+    }
+
+    public void setItems(List<TicketSummary> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+}
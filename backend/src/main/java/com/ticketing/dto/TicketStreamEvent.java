@@ -0,0 +1,67 @@
+package com.ticketing.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ticketing.model.Status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Payload of an event on GET /api/tickets/stream. The id is the outbox event id, so a client can
+ * drop duplicates after a reconnect. Bulk events carry only the ticket ids visible to the receiver.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TicketStreamEvent {
+    private Long id;
+    private String type;
+    private Long ticketId;
+    private List<Long> ticketIds;
+    private Status status;
+    private Long assigneeId;
+    private Long commentId;
+    private LocalDateTime occurredAt;
+
+    public TicketStreamEvent(Long id, String type, Long ticketId, List<Long> ticketIds, Status status,
+                             Long assigneeId, Long commentId, LocalDateTime occurredAt) {
+        this.id = id;
+        this.type = type;
+        this.ticketId = ticketId;
+        this.ticketIds = ticketIds;
+        this.status = status;
+        this.assigneeId = assigneeId;
+        this.commentId = commentId;
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Long getTicketId() {
+        return ticketId;
+    }
+
+    public List<Long> getTicketIds() {
+        return ticketIds;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getAssigneeId() {
+        return assigneeId;
+    }
+
+    public Long getCommentId() {
+        return commentId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -0,0 +1,96 @@
+package com.ticketing.dto;
+
+import com.ticketing.model.Priority;
+import com.ticketing.model.Status;
+import com.ticketing.model.Ticket;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model for ticket lists. Built directly by JPQL constructor queries, so a page of tickets
+ * is a single SELECT with no entity hydration and no per-user lookups.
+ */
+public class TicketSummary {
+    private final Long id;
+    private final String subject;
+    private final Priority priority;
+    private final Status status;
+    private final UserSummary creator;
+    private final UserSummary assignee;
+    private final Integer rating;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final LocalDateTime resolvedAt;
+
+    // Flattened for use in "SELECT new ..." queries, which cannot construct nested objects
+    public TicketSummary(Long id, String subject, Priority priority, Status status,
+                         Long creatorId, String creatorUsername, String creatorFirstName, String creatorLastName,
+                         Long assigneeId, String assigneeUsername, String assigneeFirstName, String assigneeLastName,
+                         Integer rating, LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime resolvedAt) {
+        this.id = id;
+        this.subject = subject;
+        this.priority = priority;
+        this.status = status;
+        this.creator = new UserSummary(creatorId, creatorUsername, creatorFirstName, creatorLastName);
+        this.assignee = assigneeId != null
+                ? new UserSummary(assigneeId, assigneeUsername, assigneeFirstName, assigneeLastName)
+                : null;
+        this.rating = rating;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.resolvedAt = resolvedAt;
+    }
+
+    protected TicketSummary(Ticket ticket) {
+        this.id = ticket.getId();
+        this.subject = ticket.getSubject();
+        this.priority = ticket.getPriority();
+        this.status = ticket.getStatus();
+        this.creator = UserSummary.from(ticket.getCreator());
+        this.assignee = UserSummary.from(ticket.getAssignee());
+        this.rating = ticket.getRating();
+        this.createdAt = ticket.getCreatedAt();
+        this.updatedAt = ticket.getUpdatedAt();
+        this.resolvedAt = ticket.getResolvedAt();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public UserSummary getCreator() {
+        return creator;
+    }
+
+    public UserSummary getAssignee() {
+        return assignee;
+    }
+
+    public Integer getRating() {
+        return rating;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public LocalDateTime getResolvedAt() {
+        return resolvedAt;
+    }
+}
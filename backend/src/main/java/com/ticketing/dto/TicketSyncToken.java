@@ -0,0 +1,60 @@
+package com.ticketing.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the delta sync feed: everything up to and including (updatedAt, id) has been seen.
+ * Clients pass back the encoded {@link TicketChanges#getNext()} token, or an ISO-8601 timestamp
+ * for the first sync after a full load.
+ */
+public class TicketSyncToken {
+    private final LocalDateTime updatedAt;
+    private final Long id;
+
+    public TicketSyncToken(LocalDateTime updatedAt, Long id) {
+        this.updatedAt = updatedAt;
+        this.id = id;
+    }
+
+    public static TicketSyncToken of(TicketSummary ticket) {
+        return new TicketSyncToken(ticket.getUpdatedAt(), ticket.getId());
+    }
+
+    public static TicketSyncToken parse(String since) {
+        try {
+            if (since.indexOf(':') >= 0) {
+                return new TicketSyncToken(LocalDateTime.parse(since), 0L);
+            }
+            String raw = new String(Base64.getUrlDecoder().decode(since), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid sync token");
+            }
+            return new TicketSyncToken(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid sync token", e);
+        }
+    }
+
+    public String encode() {
+        String raw = updatedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isAfter(TicketSyncToken other) {
+        int compared = updatedAt.compareTo(other.updatedAt);
+        return compared > 0 || (compared == 0 && id > other.id);
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,37 @@
+package com.ticketing.dto;
+
+import com.ticketing.model.User;
+
+public class UserSummary {
+    private final Long id;
+    private final String username;
+    private final String firstName;
+    private final String lastName;
+
+    public UserSummary(Long id, String username, String firstName, String lastName) {
+        this.id = id;
+        this.username = username;
+        this.firstName = firstName;
+        this.lastName = lastName;
+    }
+
+    public static UserSummary from(User user) {
+        return user != null ? new UserSummary(user.getId(), user.getUsername(), user.getFirstName(), user.getLastName()) : null;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+}
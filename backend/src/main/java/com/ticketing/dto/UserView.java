@@ -0,0 +1,66 @@
+package com.ticketing.dto;
+
+import com.ticketing.model.Role;
+import com.ticketing.model.User;
+
+import java.time.LocalDateTime;
+
+public class UserView {
+    private final Long id;
+    private final String username;
+    private final String email;
+    private final String firstName;
+    private final String lastName;
+    private final Role role;
+    private final boolean enabled;
+    private final LocalDateTime createdAt;
+
+    public UserView(Long id, String username, String email, String firstName, String lastName,
+                    Role role, boolean enabled, LocalDateTime createdAt) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.role = role;
+        this.enabled = enabled;
+        this.createdAt = createdAt;
+    }
+
+    public static UserView from(User user) {
+        return new UserView(user.getId(), user.getUsername(), user.getEmail(), user.getFirstName(),
+                user.getLastName(), user.getRole(), user.isEnabled(), user.getCreatedAt());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,112 @@
+package com.ticketing.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "ticket_events")
+public class TicketEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TicketEventType type;
+
+    @Column(name = "ticket_id", nullable = false)
+    private Long ticketId;
+
+    @Column(name = "comment_id")
+    private Long commentId;
+
+    @Column(name = "actor_id")
+    private Long actorId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "old_status")
+    private Status oldStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "new_status")
+    private Status newStatus;
+
+    @Column(name = "old_assignee_id")
+    private Long oldAssigneeId;
+
+    @Column(name = "new_assignee_id")
+    private Long newAssigneeId;
+
+    // Comma-separated ids covered by a bulk event; ticketId holds the first of them
+    @Column(name = "ticket_ids", columnDefinition = "TEXT")
+    private String ticketIds;
+
+    private int attempts;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public TicketEvent() {}
+
+    public TicketEvent(TicketEventType type, Long ticketId, Long actorId) {
+        this.type = type;
+        this.ticketId = ticketId;
+        this.actorId = actorId;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public TicketEventType getType() { return type; }
+    public void setType(TicketEventType type) { this.type = type; }
+
+    public Long getTicketId() { return ticketId; }
+    public void setTicketId(Long ticketId) { this.ticketId = ticketId; }
+
+    public Long getCommentId() { return commentId; }
+    public void setCommentId(Long commentId) { this.commentId = commentId; }
+
+    public Long getActorId() { return actorId; }
+    public void setActorId(Long actorId) { this.actorId = actorId; }
+
+    public Status getOldStatus() { return oldStatus; }
+    public void setOldStatus(Status oldStatus) { this.oldStatus = oldStatus; }
+
+    public Status getNewStatus() { return newStatus; }
+    public void setNewStatus(Status newStatus) { this.newStatus = newStatus; }
+
+    public Long getOldAssigneeId() { return oldAssigneeId; }
+    public void setOldAssigneeId(Long oldAssigneeId) { this.oldAssigneeId = oldAssigneeId; }
+
+    public Long getNewAssigneeId() { return newAssigneeId; }
+    public void setNewAssigneeId(Long newAssigneeId) { this.newAssigneeId = newAssigneeId; }
+
+    public String getTicketIds() { return ticketIds; }
+    public void setTicketIds(String ticketIds) { this.ticketIds = ticketIds; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getProcessedAt() { return processedAt; }
+    public void setProcessedAt(LocalDateTime processedAt) { this.processedAt = processedAt; }
+}
@@ -0,0 +1,11 @@
+package com.ticketing.model;
+
+// Stored by name under ticket_events_type_check; a new value needs a migration that widens the constraint
+public enum TicketEventType {
+    TICKET_CREATED,
+    STATUS_CHANGED,
+    TICKET_ASSIGNED,
+    COMMENT_ADDED,
+    BULK_STATUS_CHANGED,
+    BULK_ASSIGNED
+}
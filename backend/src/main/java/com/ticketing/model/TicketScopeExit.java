@@ -0,0 +1,45 @@
+package com.ticketing.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks a ticket that left a user's view without being deleted, i.e. was reassigned away from a
+ * support agent who did not create it, so that delta sync can tell that user's clients to drop it.
+ */
+@Entity
+@Table(name = "ticket_scope_exits", indexes = {
+        @Index(name = "idx_ticket_scope_exits_user_exited_at", columnList = "user_id, exited_at"),
+        @Index(name = "idx_ticket_scope_exits_exited_at", columnList = "exited_at")
+})
+public class TicketScopeExit {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "ticket_id", nullable = false)
+    private Long ticketId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "exited_at", nullable = false)
+    private LocalDateTime exitedAt;
+
+    // Constructors
+    public TicketScopeExit() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getTicketId() { return ticketId; }
+    public void setTicketId(Long ticketId) { this.ticketId = ticketId; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public LocalDateTime getExitedAt() { return exitedAt; }
+    public void setExitedAt(LocalDateTime exitedAt) { this.exitedAt = exitedAt; }
+}
@@ -0,0 +1,42 @@
+package com.ticketing.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks a deleted ticket so that delta sync can tell clients to drop it. Creator and assignee are
+ * kept so each tombstone only reaches the users who could see the ticket.
+ */
+@Entity
+@Table(name = "ticket_tombstones", indexes = @Index(name = "idx_ticket_tombstones_deleted_at", columnList = "deleted_at"))
+public class TicketTombstone {
+    @Id
+    @Column(name = "ticket_id")
+    private Long ticketId;
+
+    @Column(name = "creator_id")
+    private Long creatorId;
+
+    @Column(name = "assignee_id")
+    private Long assigneeId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    // Constructors
+    public TicketTombstone() {}
+
+    // Getters and Setters
+    public Long getTicketId() { return ticketId; }
+    public void setTicketId(Long ticketId) { this.ticketId = ticketId; }
+
+    public Long getCreatorId() { return creatorId; }
+    public void setCreatorId(Long creatorId) { this.creatorId = creatorId; }
+
+    public Long getAssigneeId() { return assigneeId; }
+    public void setAssigneeId(Long assigneeId) { this.assigneeId = assigneeId; }
+
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+    public void setDeletedAt(LocalDateTime deletedAt) { this.deletedAt = deletedAt; }
+}
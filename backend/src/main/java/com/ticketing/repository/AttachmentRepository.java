@@ -1,13 +1,33 @@
 package com.ticketing.repository;
 
+import com.ticketing.dto.AttachmentView;
 import com.ticketing.model.Attachment;
 import com.ticketing.model.Ticket;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AttachmentRepository extends JpaRepository<Attachment, Long> {
     List<Attachment> findByTicket(Ticket ticket);
+
+    @Query("SELECT new com.ticketing.dto.AttachmentView(a.id, a.fileName, a.contentType, a.fileSize, a.contentHash, " +
+           "u.id, u.username, u.firstName, u.lastName, a.uploadedAt) " +
+           "FROM Attachment a JOIN a.uploadedBy u WHERE a.ticket.id = :ticketId ORDER BY a.uploadedAt ASC, a.id ASC")
+    List<AttachmentView> findViewsByTicketId(@Param("ticketId") Long ticketId);
+
+    Optional<Attachment> findByIdAndTicketId(Long id, Long ticketId);
+
+    @Query("SELECT DISTINCT a.contentHash FROM Attachment a WHERE a.contentHash IN :hashes")
+    List<String> findReferencedHashes(@Param("hashes") Collection<String> hashes);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Attachment a WHERE a.ticket.id IN :ticketIds")
+    int deleteByTicketIdIn(@Param("ticketIds") List<Long> ticketIds);
 }
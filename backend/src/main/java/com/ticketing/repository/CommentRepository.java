@@ -1,13 +1,26 @@
 package com.ticketing.repository;
 
+import com.ticketing.dto.CommentView;
 import com.ticketing.model.Comment;
-import com.ticketing.model.Ticket;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByTicketOrderByCreatedAtAsc(Ticket ticket);
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author JOIN FETCH c.ticket t JOIN FETCH t.creator WHERE c.id = :id")
+    Optional<Comment> findWithAuthorAndTicketById(@Param("id") Long id);
+
+    @Query("SELECT new com.ticketing.dto.CommentView(c.id, c.content, a.id, a.username, a.firstName, a.lastName, c.createdAt) " +
+           "FROM Comment c JOIN c.author a WHERE c.ticket.id = :ticketId ORDER BY c.createdAt ASC, c.id ASC")
+    List<CommentView> findViewsByTicketId(@Param("ticketId") Long ticketId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Comment c WHERE c.ticket.id IN :ticketIds")
+    int deleteByTicketIdIn(@Param("ticketIds") List<Long> ticketIds);
 }
@@ -1,50 +1,178 @@
 package com.ticketing.repository;
 
+import com.ticketing.dto.TicketSummary;
 import com.ticketing.model.Priority;
 import com.ticketing.model.Status;
 import com.ticketing.model.Ticket;
 import com.ticketing.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
-    List<Ticket> findByCreator(User creator);
-    List<Ticket> findByAssignee(User assignee);
+    // Projection prefix for list queries; creator and assignee columns come from the same SELECT
+    String SUMMARY_SELECT = "SELECT new com.ticketing.dto.TicketSummary(" +
+            "t.id, t.subject, t.priority, t.status, " +
+            "c.id, c.username, c.firstName, c.lastName, " +
+            "a.id, a.username, a.firstName, a.lastName, " +
+            "t.rating, t.createdAt, t.updatedAt, t.resolvedAt) " +
+            "FROM Ticket t JOIN t.creator c LEFT JOIN t.assignee a ";
+
     List<Ticket> findByStatus(Status status);
     List<Ticket> findByPriority(Priority priority);
     
-    @Query("SELECT t FROM Ticket t WHERE t.creator = :user OR t.assignee = :user")
-    List<Ticket> findByCreatorOrAssignee(@Param("user") User user);
+    @Query("SELECT t.status, COUNT(t) FROM Ticket t GROUP BY t.status")
+    List<Object[]> countGroupByStatus();
+
+    @Query("SELECT t.priority, COUNT(t) FROM Ticket t GROUP BY t.priority")
+    List<Object[]> countGroupByPriority();
+
+    // Dashboard counts over the tickets a user or support agent can list
+    @Query("SELECT t.status, COUNT(t) FROM Ticket t WHERE t.creator = :user GROUP BY t.status")
+    List<Object[]> countGroupByStatusForCreator(@Param("user") User user);
+
+    @Query("SELECT t.status, COUNT(t) FROM Ticket t WHERE t.creator = :user OR t.assignee = :user GROUP BY t.status")
+    List<Object[]> countGroupByStatusForCreatorOrAssignee(@Param("user") User user);
+
+    // Keyset pagination on (createdAt DESC, id DESC); the Pageable only carries the limit
+    @Query(SUMMARY_SELECT + "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TicketSummary> findFirstPage(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE " +
+           "(t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TicketSummary> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE t.creator = :user ORDER BY t.createdAt DESC, t.id DESC")
+    List<TicketSummary> findFirstPageByCreator(@Param("user") User user, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE t.creator = :user AND " +
+           "(t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TicketSummary> findPageByCreatorAfter(@Param("user") User user, @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") Long id, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE (t.creator = :user OR t.assignee = :user) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TicketSummary> findFirstPageByCreatorOrAssignee(@Param("user") User user, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE (t.creator = :user OR t.assignee = :user) AND " +
+           "(t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TicketSummary> findPageByCreatorOrAssigneeAfter(@Param("user") User user, @Param("createdAt") LocalDateTime createdAt,
+                                                         @Param("id") Long id, Pageable pageable);
     
-    @Query("SELECT t FROM Ticket t WHERE " +
+    @Query(SUMMARY_SELECT + "WHERE " +
            "(:status IS NULL OR t.status = :status) AND " +
            "(:priority IS NULL OR t.priority = :priority) AND " +
-           "(:assigneeId IS NULL OR t.assignee.id = :assigneeId) AND " +
-           "(:creatorId IS NULL OR t.creator.id = :creatorId) AND " +
-           "(LOWER(t.subject) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(t.description) LIKE LOWER(CONCAT('%', :search, '%')))")
-    List<Ticket> findTicketsWithFilters(
+           "(:assigneeId IS NULL OR a.id = :assigneeId) AND " +
+           "(:creatorId IS NULL OR c.id = :creatorId) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TicketSummary> findTicketsWithFilters(
         @Param("status") Status status,
         @Param("priority") Priority priority,
         @Param("assigneeId") Long assigneeId,
         @Param("creatorId") Long creatorId,
-        @Param("search") String search
+        Pageable pageable
     );
     
-    @Query("SELECT t FROM Ticket t WHERE t.creator = :user AND " +
+    @Query(SUMMARY_SELECT + "WHERE t.creator = :user AND " +
            "(:status IS NULL OR t.status = :status) AND " +
-           "(:priority IS NULL OR t.priority = :priority) AND " +
-           "(LOWER(t.subject) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(t.description) LIKE LOWER(CONCAT('%', :search, '%')))")
-    List<Ticket> findUserTicketsWithFilters(
+           "(:priority IS NULL OR t.priority = :priority) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TicketSummary> findUserTicketsWithFilters(
         @Param("user") User user,
         @Param("status") Status status,
         @Param("priority") Priority priority,
-        @Param("search") String search
+        Pageable pageable
+    );
+
+    // Filters of searchTicketIds, applied to the ticket in both match branches
+    String SEARCH_FILTERS =
+           "(CAST(:status AS text) IS NULL OR t.status = CAST(:status AS text)) AND " +
+           "(CAST(:priority AS text) IS NULL OR t.priority = CAST(:priority AS text)) AND " +
+           "(CAST(:assigneeId AS bigint) IS NULL OR t.assignee_id = CAST(:assigneeId AS bigint)) AND " +
+           "(CAST(:creatorId AS bigint) IS NULL OR t.creator_id = CAST(:creatorId AS bigint)) ";
+
+    // Full-text search over the generated search_vector columns (see V1__baseline_schema.sql).
+    // A ticket matches on its own subject/description or on any of its comments; comment hits rank lower.
+    // The filters sit inside both branches, so only the caller's tickets and their comments are ranked,
+    // not the whole table's match set.
+    @Query(value = "WITH q AS (SELECT to_tsquery('english', :query) AS query), " +
+           "matches AS (" +
+           "  SELECT t.id AS ticket_id, ts_rank(t.search_vector, q.query) AS rank " +
+           "  FROM tickets t, q WHERE t.search_vector @@ q.query AND " + SEARCH_FILTERS +
+           "  UNION ALL " +
+           "  SELECT c.ticket_id, ts_rank(c.search_vector, q.query) * 0.5 " +
+           "  FROM comments c JOIN tickets t ON t.id = c.ticket_id, q WHERE c.search_vector @@ q.query AND " + SEARCH_FILTERS +
+           ") " +
+           "SELECT ticket_id FROM matches GROUP BY ticket_id " +
+           "ORDER BY MAX(rank) DESC, ticket_id DESC LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Long> searchTicketIds(
+        @Param("query") String query,
+        @Param("status") String status,
+        @Param("priority") String priority,
+        @Param("assigneeId") Long assigneeId,
+        @Param("creatorId") Long creatorId,
+        @Param("limit") int limit,
+        @Param("offset") int offset
     );
+
+    // Delta sync: tickets changed after the (updatedAt, id) position, oldest change first
+    @Query(SUMMARY_SELECT + "WHERE " +
+           "(t.updatedAt > :updatedAt OR (t.updatedAt = :updatedAt AND t.id > :id)) " +
+           "ORDER BY t.updatedAt, t.id")
+    List<TicketSummary> findChangedAfter(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE t.creator = :user AND " +
+           "(t.updatedAt > :updatedAt OR (t.updatedAt = :updatedAt AND t.id > :id)) " +
+           "ORDER BY t.updatedAt, t.id")
+    List<TicketSummary> findChangedByCreatorAfter(@Param("user") User user, @Param("updatedAt") LocalDateTime updatedAt,
+                                                  @Param("id") Long id, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE (t.creator = :user OR t.assignee = :user) AND " +
+           "(t.updatedAt > :updatedAt OR (t.updatedAt = :updatedAt AND t.id > :id)) " +
+           "ORDER BY t.updatedAt, t.id")
+    List<TicketSummary> findChangedByCreatorOrAssigneeAfter(@Param("user") User user, @Param("updatedAt") LocalDateTime updatedAt,
+                                                            @Param("id") Long id, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE t.id IN :ids")
+    List<TicketSummary> findSummariesByIdIn(@Param("ids") List<Long> ids);
+
+    @Query("SELECT t FROM Ticket t JOIN FETCH t.creator LEFT JOIN FETCH t.assignee WHERE t.id = :id")
+    Optional<Ticket> findWithUsersById(@Param("id") Long id);
+
+    @Query("SELECT t FROM Ticket t JOIN FETCH t.creator LEFT JOIN FETCH t.assignee WHERE t.id IN :ids ORDER BY t.id")
+    List<Ticket> findWithUsersByIdIn(@Param("ids") List<Long> ids);
+
+    // Bulk operations: the current status and priority of each target, read before the set-based write
+    @Query("SELECT t.id, t.status, t.priority FROM Ticket t WHERE t.id IN :ids")
+    List<Object[]> findStatusAndPriorityByIdIn(@Param("ids") List<Long> ids);
+
+    // JPQL bulk statements skip entity callbacks and versioning, so updatedAt, resolvedAt and version are set here
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ticket t SET t.status = :status, t.updatedAt = :now, t.version = t.version + 1, " +
+           "t.resolvedAt = COALESCE(t.resolvedAt, :resolvedAt) " +
+           "WHERE t.id IN :ids AND t.status <> :status")
+    int updateStatusByIdIn(@Param("ids") List<Long> ids, @Param("status") Status status,
+                           @Param("now") LocalDateTime now, @Param("resolvedAt") LocalDateTime resolvedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ticket t SET t.assignee = :assignee, t.updatedAt = :now, t.version = t.version + 1, " +
+           "t.status = CASE WHEN t.status = com.ticketing.model.Status.OPEN " +
+           "THEN com.ticketing.model.Status.IN_PROGRESS ELSE t.status END " +
+           "WHERE t.id IN :ids")
+    int assignByIdIn(@Param("ids") List<Long> ids, @Param("assignee") User assignee, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Ticket t WHERE t.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
 }
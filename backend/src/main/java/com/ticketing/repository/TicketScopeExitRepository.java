@@ -0,0 +1,32 @@
+package com.ticketing.repository;
+
+import com.ticketing.model.TicketScopeExit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TicketScopeExitRepository extends JpaRepository<TicketScopeExit, Long> {
+    // Copied from the ticket rows in one statement; must run before the new assignee is written.
+    // An agent who created the ticket still sees it, and a null newAssigneeId unassigns.
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO TicketScopeExit (ticketId, userId, exitedAt) " +
+           "SELECT t.id, t.assignee.id, :exitedAt FROM Ticket t WHERE t.id IN :ids AND t.assignee IS NOT NULL " +
+           "AND t.assignee <> t.creator AND (:newAssigneeId IS NULL OR t.assignee.id <> :newAssigneeId)")
+    int recordReassigned(@Param("ids") List<Long> ids, @Param("newAssigneeId") Long newAssigneeId,
+                         @Param("exitedAt") LocalDateTime exitedAt);
+
+    @Query("SELECT e.ticketId FROM TicketScopeExit e WHERE e.userId = :userId AND e.exitedAt > :from AND e.exitedAt <= :to " +
+           "ORDER BY e.exitedAt, e.ticketId")
+    List<Long> findExitedTicketIds(@Param("userId") Long userId, @Param("from") LocalDateTime from,
+                                   @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query("DELETE FROM TicketScopeExit e WHERE e.exitedAt < :cutoff")
+    int deleteExitedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
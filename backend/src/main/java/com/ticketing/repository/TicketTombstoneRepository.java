@@ -0,0 +1,31 @@
+package com.ticketing.repository;
+
+import com.ticketing.model.TicketTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TicketTombstoneRepository extends JpaRepository<TicketTombstone, Long> {
+    // Copied from the ticket rows in one statement; must run before the tickets are deleted
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO TicketTombstone (ticketId, creatorId, assigneeId, deletedAt) " +
+           "SELECT t.id, t.creator.id, t.assignee.id, :deletedAt FROM Ticket t WHERE t.id IN :ids")
+    int recordDeleted(@Param("ids") List<Long> ids, @Param("deletedAt") LocalDateTime deletedAt);
+
+    // A null userId returns every tombstone; otherwise the user's own tickets and, with includeAssigned, those assigned to them
+    @Query("SELECT tb.ticketId FROM TicketTombstone tb WHERE tb.deletedAt > :from AND tb.deletedAt <= :to AND " +
+           "(:userId IS NULL OR tb.creatorId = :userId OR (:includeAssigned = true AND tb.assigneeId = :userId)) " +
+           "ORDER BY tb.deletedAt, tb.ticketId")
+    List<Long> findDeletedTicketIds(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                    @Param("userId") Long userId, @Param("includeAssigned") boolean includeAssigned);
+
+    @Modifying
+    @Query("DELETE FROM TicketTombstone tb WHERE tb.deletedAt < :cutoff")
+    int deleteDeletedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,9 +1,13 @@
 package com.ticketing.repository;
 
+import com.ticketing.dto.UserView;
 import com.ticketing.model.Role;
 import com.ticketing.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -19,5 +23,24 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByRole(Role role);
     
     @Query("SELECT u FROM User u WHERE u.role = :role AND u.enabled = true")
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "query.activeUsersByRole")
+    })
     List<User> findActiveUsersByRole(@Param("role") Role role);
+
+    @Query("SELECT new com.ticketing.dto.UserView(u.id, u.username, u.email, u.firstName, u.lastName, u.role, u.enabled, u.createdAt) " +
+           "FROM User u ORDER BY u.id")
+    List<UserView> findAllViews();
+
+    @Query("SELECT new com.ticketing.dto.UserView(u.id, u.username, u.email, u.firstName, u.lastName, u.role, u.enabled, u.createdAt) " +
+           "FROM User u WHERE u.role = :role AND u.enabled = true ORDER BY u.id")
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "query.activeUsersByRole")
+    })
+    List<UserView> findActiveUserViewsByRole(@Param("role") Role role);
+
+    @Query("SELECT u.role, COUNT(u) FROM User u GROUP BY u.role")
+    List<Object[]> countGroupByRole();
 }
@@ -1,6 +1,9 @@
 package com.ticketing.security;
 
-import com.ticketing.service.UserDetailsServiceImpl;
+import com.ticketing.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,25 +19,44 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtils jwtUtils;
 
     @Autowired
-    private UserDetailsServiceImpl userDetailsService;
+    private UserPrincipalCache userPrincipalCache;
+
+    @Autowired
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
 
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
+    private Timer validTokenTimer;
+    private Timer invalidTokenTimer;
+    private Timer principalLookupTimer;
+    private Timer statelessPrincipalTimer;
+
+    @PostConstruct
+    public void initMetrics() {
+        validTokenTimer = meterRegistry.timer("auth.jwt.parse", "outcome", "valid");
+        invalidTokenTimer = meterRegistry.timer("auth.jwt.parse", "outcome", "invalid");
+        principalLookupTimer = meterRegistry.timer("auth.principal.resolve", "source", "lookup");
+        statelessPrincipalTimer = meterRegistry.timer("auth.principal.resolve", "source", "stateless");
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            JwtPrincipalClaims claims = jwt != null ? parseToken(jwt) : null;
+            UserDetails userDetails = claims != null ? timedResolvePrincipal(claims) : null;
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(userDetails,
                                 null,
@@ -50,6 +72,43 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private JwtPrincipalClaims parseToken(String jwt) {
+        long start = System.nanoTime();
+        JwtPrincipalClaims claims = jwtUtils.parseToken(jwt);
+        (claims != null ? validTokenTimer : invalidTokenTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return claims;
+    }
+
+    private UserDetails timedResolvePrincipal(JwtPrincipalClaims claims) {
+        boolean lookup = !jwtUtils.isStatelessPrincipal() || !claims.hasPrincipalClaims();
+        long start = System.nanoTime();
+        try {
+            return resolvePrincipal(claims);
+        } finally {
+            (lookup ? principalLookupTimer : statelessPrincipalTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private UserDetails resolvePrincipal(JwtPrincipalClaims claims) {
+        // Tokens issued before stateless mode was enabled carry no user id and fall back to the lookup
+        if (!jwtUtils.isStatelessPrincipal() || !claims.hasPrincipalClaims()) {
+            return userPrincipalCache.get(claims.getUsername());
+        }
+
+        if (!claims.isEnabled() || tokenRevocationRegistry.isRevoked(claims.getUserId(), claims.getIssuedAt())) {
+            return null;
+        }
+
+        User user = new User(claims.getUsername(),
+                claims.getEmail(),
+                null,
+                claims.getFirstName(),
+                claims.getLastName(),
+                claims.getRole());
+        user.setId(claims.getUserId());
+        return user;
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
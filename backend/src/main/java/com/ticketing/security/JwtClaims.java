@@ -0,0 +1,15 @@
+package com.ticketing.security;
+
+/**
+ * Names of the custom claims written when stateless principal mode is enabled.
+ */
+public final class JwtClaims {
+    public static final String USER_ID = "uid";
+    public static final String ROLE = "role";
+    public static final String ENABLED = "enabled";
+    public static final String EMAIL = "email";
+    public static final String FIRST_NAME = "firstName";
+    public static final String LAST_NAME = "lastName";
+
+    private JwtClaims() {}
+}
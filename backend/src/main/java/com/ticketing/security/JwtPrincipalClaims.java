@@ -0,0 +1,57 @@
+package com.ticketing.security;
+
+import com.ticketing.model.Role;
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * Everything the request path needs from a validated token, extracted in one parse.
+ * The user id, role and profile fields are only present on tokens issued in stateless principal mode.
+ */
+public final class JwtPrincipalClaims {
+    private final String username;
+    private final Date issuedAt;
+    private final Long userId;
+    private final Role role;
+    private final boolean enabled;
+    private final String email;
+    private final String firstName;
+    private final String lastName;
+
+    private JwtPrincipalClaims(Claims claims) {
+        this.username = claims.getSubject();
+        this.issuedAt = claims.getIssuedAt();
+        this.userId = claims.get(JwtClaims.USER_ID, Long.class);
+        String roleName = claims.get(JwtClaims.ROLE, String.class);
+        this.role = roleName != null ? Role.valueOf(roleName) : null;
+        this.enabled = Boolean.TRUE.equals(claims.get(JwtClaims.ENABLED, Boolean.class));
+        this.email = claims.get(JwtClaims.EMAIL, String.class);
+        this.firstName = claims.get(JwtClaims.FIRST_NAME, String.class);
+        this.lastName = claims.get(JwtClaims.LAST_NAME, String.class);
+    }
+
+    static JwtPrincipalClaims from(Claims claims) {
+        return new JwtPrincipalClaims(claims);
+    }
+
+    public boolean hasPrincipalClaims() {
+        return userId != null && role != null;
+    }
+
+    public String getUsername() { return username; }
+
+    public Date getIssuedAt() { return issuedAt; }
+
+    public Long getUserId() { return userId; }
+
+    public Role getRole() { return role; }
+
+    public boolean isEnabled() { return enabled; }
+
+    public String getEmail() { return email; }
+
+    public String getFirstName() { return firstName; }
+
+    public String getLastName() { return lastName; }
+}
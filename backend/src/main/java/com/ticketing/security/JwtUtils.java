@@ -1,7 +1,9 @@
 package com.ticketing.security;
 
+import com.ticketing.model.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,6 +12,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 
 @Component
@@ -22,34 +25,52 @@ public class JwtUtils {
     @Value("${jwt.expiration}")
     private int jwtExpirationMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @Value("${jwt.stateless-principal:false}")
+    private boolean statelessPrincipal;
+
+    // Both are immutable and thread-safe, so they are derived once instead of on every call
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    }
+
+    public boolean isStatelessPrincipal() {
+        return statelessPrincipal;
     }
 
     public String generateJwtToken(Authentication authentication) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
 
-        return Jwts.builder()
+        long now = System.currentTimeMillis();
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(userPrincipal.getUsername())
-                .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
-    }
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + jwtExpirationMs));
 
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        // Carry enough of the user for AuthTokenFilter to build the principal without a DB lookup
+        if (statelessPrincipal && userPrincipal instanceof User user) {
+            builder.claim(JwtClaims.USER_ID, user.getId())
+                    .claim(JwtClaims.ROLE, user.getRole().name())
+                    .claim(JwtClaims.ENABLED, user.isEnabled())
+                    .claim(JwtClaims.EMAIL, user.getEmail())
+                    .claim(JwtClaims.FIRST_NAME, user.getFirstName())
+                    .claim(JwtClaims.LAST_NAME, user.getLastName());
+        }
+
+        return builder.signWith(signingKey, SignatureAlgorithm.HS256).compact();
     }
 
-    public boolean validateJwtToken(String authToken) {
+    /**
+     * Verifies the token and extracts all claims the request path needs in a single parse.
+     * Returns null if the token is invalid, expired or not signed with our key.
+     */
+    public JwtPrincipalClaims parseToken(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(authToken);
-            return true;
+            return JwtPrincipalClaims.from(jwtParser.parseClaimsJws(authToken).getBody());
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -58,8 +79,18 @@ public class JwtUtils {
             logger.error("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
+        } catch (JwtException e) {
+            logger.error("JWT signature is invalid: {}", e.getMessage());
         }
 
-        return false;
+        return null;
+    }
+
+    public String getUserNameFromJwtToken(String token) {
+        return jwtParser.parseClaimsJws(token).getBody().getSubject();
+    }
+
+    public boolean validateJwtToken(String authToken) {
+        return parseToken(authToken) != null;
     }
 }
@@ -0,0 +1,109 @@
+package com.ticketing.security;
+
+import com.ticketing.model.TokenRevocation;
+import com.ticketing.repository.TokenRevocationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Denylist for stateless JWT principals. Revoking a user invalidates every token issued to them
+ * up to that moment. Revocations are persisted so all instances see them: each instance polls
+ * the primary for rows revoked since its previous poll and keeps the latest revocation time per
+ * user in memory. revoked_at is stamped before commit and instance clocks drift, so every poll also
+ * re-reads the {@code jwt.revocation-overlap-ms} before the previous one; re-reading is harmless.
+ * Rows older than the token lifetime can no longer match a valid token and are pruned.
+ * Open ticket streams are checked against the same list, so revocations are loaded whichever
+ * principal mode is in use.
+ */
+@Component
+public class TokenRevocationRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationRegistry.class);
+
+    @Autowired
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    @Value("${jwt.expiration}")
+    private long jwtExpirationMs;
+
+    @Value("${jwt.revocation-overlap-ms:60000}")
+    private long overlapMs;
+
+    private final Map<Long, Long> revokedAtSeconds = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastRefresh;
+
+    @Transactional
+    public void revoke(Long userId) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        tokenRevocationRepository.save(new TokenRevocation(userId, now));
+        long seconds = toEpochSeconds(now);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(userId, seconds);
+                }
+            });
+        } else {
+            record(userId, seconds);
+        }
+    }
+
+    // JWT iat has second precision, so a token issued in the same second as the revocation is rejected too
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        Long revokedAt = revokedAtSeconds.get(userId);
+        return revokedAt != null && (issuedAt == null || issuedAt.getTime() / 1000 <= revokedAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jwt.revocation-refresh-ms:5000}")
+    // Not read-only: a lagging replica would hide revocations that other instances already enforce
+    @Transactional
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        // The first poll loads every revocation that can still match an unexpired token
+        LocalDateTime from = lastRefresh != null
+                ? lastRefresh.minusNanos(overlapMs * 1_000_000)
+                : now.minusNanos(jwtExpirationMs * 1_000_000);
+        List<TokenRevocation> revocations = tokenRevocationRepository.findByRevokedAtAfter(from);
+        for (TokenRevocation revocation : revocations) {
+            record(revocation.getUserId(), toEpochSeconds(revocation.getRevokedAt()));
+        }
+        lastRefresh = now;
+        if (!revocations.isEmpty()) {
+            logger.debug("Read {} token revocations since {}", revocations.size(), from);
+        }
+    }
+
+    @Scheduled(cron = "${jwt.revocation-cleanup-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now(ZoneOffset.UTC).minusNanos(jwtExpirationMs * 1_000_000);
+        tokenRevocationRepository.deleteRevokedBefore(cutoff);
+        long cutoffSeconds = toEpochSeconds(cutoff);
+        revokedAtSeconds.values().removeIf(seconds -> seconds < cutoffSeconds);
+    }
+
+    private void record(Long userId, long seconds) {
+        revokedAtSeconds.merge(userId, seconds, Math::max);
+    }
+
+    private static long toEpochSeconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,98 @@
+package com.ticketing.service;
+
+import com.ticketing.dto.AttachmentView;
+import com.ticketing.model.Attachment;
+import com.ticketing.model.Ticket;
+import com.ticketing.model.User;
+import com.ticketing.repository.AttachmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+public class AttachmentService {
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentService.class);
+    // Hashes looked up per query when sweeping stored content
+    private static final int SWEEP_BATCH_SIZE = 500;
+
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+
+    @Autowired
+    private AttachmentStorageService storageService;
+
+    @Value("${attachments.sweep-grace-hours:24}")
+    private long sweepGraceHours;
+
+    public Attachment addAttachment(Ticket ticket, MultipartFile file, User uploadedBy) throws IOException {
+        AttachmentStorageService.StoredFile stored;
+        // The container has already spooled the part to disk; this streams it through the hasher
+        try (InputStream content = file.getInputStream()) {
+            stored = storageService.store(content);
+        }
+
+        String fileName = StringUtils.getFilename(StringUtils.cleanPath(
+                file.getOriginalFilename() != null ? file.getOriginalFilename() : "attachment"));
+        Attachment attachment = new Attachment(fileName, stored.getRelativePath(), file.getContentType(),
+                stored.getSize(), ticket, uploadedBy);
+        attachment.setContentHash(stored.getHash());
+        return attachmentRepository.save(attachment);
+    }
+
+    public List<AttachmentView> getTicketAttachments(Ticket ticket) {
+        return attachmentRepository.findViewsByTicketId(ticket.getId());
+    }
+
+    public Optional<Attachment> getAttachment(Ticket ticket, Long attachmentId) {
+        return attachmentRepository.findByIdAndTicketId(attachmentId, ticket.getId());
+    }
+
+    public Path resolveFile(Attachment attachment) {
+        return storageService.resolve(attachment.getFilePath());
+    }
+
+    /**
+     * Deletes stored content that no attachment references any more, once it has gone unused for
+     * the grace period. Runs on the primary, so a row committed moments ago is never missed.
+     */
+    @Scheduled(cron = "${attachments.sweep-cron:0 0 4 * * *}")
+    @Transactional
+    public void sweepUnreferencedContent() {
+        Instant cutoff = Instant.now().minus(Duration.ofHours(sweepGraceHours));
+        int deleted = 0;
+        try {
+            List<String> stored = storageService.findStoredBefore(cutoff);
+            for (int from = 0; from < stored.size(); from += SWEEP_BATCH_SIZE) {
+                List<String> batch = stored.subList(from, Math.min(from + SWEEP_BATCH_SIZE, stored.size()));
+                Set<String> referenced = new HashSet<>(attachmentRepository.findReferencedHashes(batch));
+                for (String hash : batch) {
+                    if (!referenced.contains(hash) && storageService.deleteIfStoredBefore(hash, cutoff)) {
+                        deleted++;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Attachment sweep stopped after deleting {} files: {}", deleted, e.getMessage());
+            return;
+        }
+        if (deleted > 0) {
+            logger.info("Deleted {} unreferenced attachment files", deleted);
+        }
+    }
+}
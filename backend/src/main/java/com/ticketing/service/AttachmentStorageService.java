@@ -0,0 +1,160 @@
+package com.ticketing.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed file store for ticket attachments. Uploads are streamed to a temporary file
+ * while their SHA-256 is computed, then moved to a path derived from the hash, so identical files
+ * are stored once no matter how many tickets reference them. Deleting an attachment leaves its
+ * content in place; {@link AttachmentService} sweeps out content no attachment references.
+ */
+@Service
+public class AttachmentStorageService {
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentStorageService.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    @Value("${attachments.storage-dir:./data/attachments}")
+    private String storageDir;
+
+    private Path root;
+    private Path tempDir;
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(storageDir).toAbsolutePath().normalize();
+        tempDir = root.resolve("tmp");
+        Files.createDirectories(tempDir);
+    }
+
+    public StoredFile store(InputStream content) throws IOException {
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size = 0;
+            try (InputStream in = new DigestInputStream(content, digest);
+                 OutputStream out = Files.newOutputStream(temp)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                    size += read;
+                }
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = pathFor(hash);
+            if (Files.exists(target)) {
+                // Restarts the sweep's grace period, which covers this upload until its row commits
+                Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                logger.debug("Attachment content {} already stored, reusing it", hash);
+            } else {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // A concurrent upload of the same content won the race
+                    logger.debug("Attachment content {} already stored, reusing it", hash);
+                }
+            }
+            return new StoredFile(hash, root.relativize(target).toString(), size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public Path resolve(String relativePath) {
+        Path path = root.resolve(relativePath).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Attachment path escapes storage root: " + relativePath);
+        }
+        return path;
+    }
+
+    /**
+     * Hashes of stored content last written or reused before {@code cutoff}. Anything newer may
+     * belong to an upload whose attachment row has not committed yet.
+     */
+    public List<String> findStoredBefore(Instant cutoff) throws IOException {
+        try (Stream<Path> files = Files.walk(root, 3)) {
+            return files
+                    .filter(path -> !path.startsWith(tempDir) && HASH.matcher(path.getFileName().toString()).matches())
+                    .filter(path -> storedBefore(path, cutoff))
+                    .map(path -> path.getFileName().toString())
+                    .toList();
+        }
+    }
+
+    // Checked again here so content reused since it was listed is kept
+    public boolean deleteIfStoredBefore(String hash, Instant cutoff) throws IOException {
+        Path path = pathFor(hash);
+        return storedBefore(path, cutoff) && Files.deleteIfExists(path);
+    }
+
+    private static boolean storedBefore(Path path, Instant cutoff) {
+        try {
+            return Files.isRegularFile(path) && Files.getLastModifiedTime(path).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // Two levels of fan-out keep directory sizes manageable
+    private Path pathFor(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static class StoredFile {
+        private final String hash;
+        private final String relativePath;
+        private final long size;
+
+        public StoredFile(String hash, String relativePath, long size) {
+            this.hash = hash;
+            this.relativePath = relativePath;
+            this.size = size;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public String getRelativePath() {
+            return relativePath;
+        }
+
+        public long getSize() {
+            return size;
+        }
+    }
+}
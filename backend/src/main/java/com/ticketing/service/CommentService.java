@@ -1,12 +1,14 @@
 package com.ticketing.service;
 
 import com.ticketing.dto.CommentRequest;
+import com.ticketing.dto.CommentView;
 import com.ticketing.model.Comment;
 import com.ticketing.model.Ticket;
 import com.ticketing.model.User;
 import com.ticketing.repository.CommentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -16,19 +18,21 @@ public class CommentService {
     private CommentRepository commentRepository;
 
     @Autowired
-    private EmailService emailService;
+    private TicketEventService ticketEventService;
 
+    @Transactional
     public Comment addComment(CommentRequest commentRequest, Ticket ticket, User author) {
         Comment comment = new Comment(commentRequest.getContent(), ticket, author);
         Comment savedComment = commentRepository.save(comment);
         
-        // Send email notification for new comment
-        emailService.sendCommentAddedNotification(savedComment);
+        // Record comment event for notification
+        ticketEventService.commentAdded(savedComment);
         
         return savedComment;
     }
 
-    public List<Comment> getTicketComments(Ticket ticket) {
-        return commentRepository.findByTicketOrderByCreatedAtAsc(ticket);
+    @Transactional(readOnly = true)
+    public List<CommentView> getTicketComments(Ticket ticket) {
+        return commentRepository.findViewsByTicketId(ticket.getId());
     }
 }
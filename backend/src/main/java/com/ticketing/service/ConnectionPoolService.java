@@ -0,0 +1,45 @@
+package com.ticketing.service;
+
+import com.ticketing.config.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class ConnectionPoolService {
+    @Autowired
+    private List<HikariDataSource> pools;
+
+    @Autowired(required = false)
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    public Map<String, Object> getPoolStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (HikariDataSource pool : pools) {
+            stats.put(pool.getPoolName(), poolStats(pool));
+        }
+        if (routingDataSource != null) {
+            stats.put("replicaUsable", routingDataSource.isReplicaUsable());
+            stats.put("replicaLagMs", routingDataSource.getReplicaLagMs());
+        }
+        return stats;
+    }
+
+    private static Map<String, Object> poolStats(HikariDataSource hikari) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maximumPoolSize", hikari.getMaximumPoolSize());
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool != null) {
+            stats.put("active", pool.getActiveConnections());
+            stats.put("idle", pool.getIdleConnections());
+            stats.put("total", pool.getTotalConnections());
+            stats.put("threadsAwaitingConnection", pool.getThreadsAwaitingConnection());
+        }
+        return stats;
+    }
+}
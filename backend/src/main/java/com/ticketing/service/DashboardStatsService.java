@@ -0,0 +1,207 @@
+package com.ticketing.service;
+
+import com.ticketing.model.Priority;
+import com.ticketing.model.Role;
+import com.ticketing.model.Status;
+import com.ticketing.repository.TicketRepository;
+import com.ticketing.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory counters behind GET /api/admin/stats. Ticket and user mutations adjust the counters
+ * once their transaction commits, and a periodic GROUP BY reconcile corrects any drift (for
+ * example from writes made by other application instances).
+ */
+@Service
+public class DashboardStatsService {
+    private static final Logger logger = LoggerFactory.getLogger(DashboardStatsService.class);
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Map<Status, AtomicLong> ticketsByStatus = counters(Status.class);
+    private final Map<Priority, AtomicLong> ticketsByPriority = counters(Priority.class);
+    private final Map<Role, AtomicLong> usersByRole = counters(Role.class);
+
+    public void ticketCreated(Status status, Priority priority) {
+        afterCommit(() -> {
+            adjust(ticketsByStatus, status, 1);
+            adjust(ticketsByPriority, priority, 1);
+        });
+    }
+
+    public void ticketStatusChanged(Status oldStatus, Status newStatus) {
+        if (oldStatus == newStatus) {
+            return;
+        }
+        afterCommit(() -> {
+            adjust(ticketsByStatus, oldStatus, -1);
+            adjust(ticketsByStatus, newStatus, 1);
+        });
+    }
+
+    public void ticketDeleted(Status status, Priority priority) {
+        afterCommit(() -> {
+            adjust(ticketsByStatus, status, -1);
+            adjust(ticketsByPriority, priority, -1);
+        });
+    }
+
+    public void ticketsStatusChanged(Map<Status, Long> countsByOldStatus, Status newStatus) {
+        afterCommit(() -> countsByOldStatus.forEach((oldStatus, count) -> {
+            if (oldStatus != newStatus) {
+                adjust(ticketsByStatus, oldStatus, -count);
+                adjust(ticketsByStatus, newStatus, count);
+            }
+        }));
+    }
+
+    public void ticketsDeleted(Map<Status, Long> countsByStatus, Map<Priority, Long> countsByPriority) {
+        afterCommit(() -> {
+            countsByStatus.forEach((status, count) -> adjust(ticketsByStatus, status, -count));
+            countsByPriority.forEach((priority, count) -> adjust(ticketsByPriority, priority, -count));
+        });
+    }
+
+    public void userCreated(Role role) {
+        afterCommit(() -> adjust(usersByRole, role, 1));
+    }
+
+    public void userRoleChanged(Role oldRole, Role newRole) {
+        if (oldRole == newRole) {
+            return;
+        }
+        afterCommit(() -> {
+            adjust(usersByRole, oldRole, -1);
+            adjust(usersByRole, newRole, 1);
+        });
+    }
+
+    public void userDeleted(Role role) {
+        afterCommit(() -> adjust(usersByRole, role, -1));
+    }
+
+    public Map<String, Object> getDashboardStats() {
+        Map<String, Long> priorities = new LinkedHashMap<>();
+        ticketsByPriority.forEach((priority, count) -> priorities.put(priority.name(), count.get()));
+
+        return Map.of(
+            "users", Map.of(
+                "total", sum(usersByRole),
+                "admins", usersByRole.get(Role.ADMIN).get(),
+                "supportAgents", usersByRole.get(Role.SUPPORT_AGENT).get(),
+                "regularUsers", usersByRole.get(Role.USER).get()
+            ),
+            "tickets", Map.of(
+                "total", sum(ticketsByStatus),
+                "open", ticketsByStatus.get(Status.OPEN).get(),
+                "inProgress", ticketsByStatus.get(Status.IN_PROGRESS).get(),
+                "resolved", ticketsByStatus.get(Status.RESOLVED).get(),
+                "closed", ticketsByStatus.get(Status.CLOSED).get(),
+                "byPriority", priorities
+            )
+        );
+    }
+
+    public Map<String, Long> getTicketCounts() {
+        Map<Status, Long> byStatus = new EnumMap<>(Status.class);
+        ticketsByStatus.forEach((status, count) -> byStatus.put(status, count.get()));
+        return ticketCounts(byStatus);
+    }
+
+    // Same keys as the "tickets" section of getDashboardStats, without the priority breakdown
+    static Map<String, Long> ticketCounts(Map<Status, Long> byStatus) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("total", byStatus.values().stream().mapToLong(Long::longValue).sum());
+        counts.put("open", byStatus.getOrDefault(Status.OPEN, 0L));
+        counts.put("inProgress", byStatus.getOrDefault(Status.IN_PROGRESS, 0L));
+        counts.put("resolved", byStatus.getOrDefault(Status.RESOLVED, 0L));
+        counts.put("closed", byStatus.getOrDefault(Status.CLOSED, 0L));
+        return counts;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${stats.reconcile-interval-ms:300000}",
+               fixedDelayString = "${stats.reconcile-interval-ms:300000}")
+    // Not read-only: a replica that lags the primary would undo the writes the reconcile follows
+    @Transactional
+    public void reconcile() {
+        Map<Status, Long> statusSnapshot = snapshot(ticketsByStatus);
+        Map<Priority, Long> prioritySnapshot = snapshot(ticketsByPriority);
+        Map<Role, Long> roleSnapshot = snapshot(usersByRole);
+        correct(ticketsByStatus, statusSnapshot, ticketRepository.countGroupByStatus());
+        correct(ticketsByPriority, prioritySnapshot, ticketRepository.countGroupByPriority());
+        correct(usersByRole, roleSnapshot, userRepository.countGroupByRole());
+        logger.debug("Reconciled dashboard counters with database");
+    }
+
+    private static <E extends Enum<E>> Map<E, AtomicLong> counters(Class<E> type) {
+        Map<E, AtomicLong> map = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) {
+            map.put(value, new AtomicLong());
+        }
+        return map;
+    }
+
+    private static <E extends Enum<E>> void adjust(Map<E, AtomicLong> counters, E key, long delta) {
+        if (key != null) {
+            counters.get(key).addAndGet(delta);
+        }
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> snapshot(Map<E, AtomicLong> counters) {
+        Map<E, Long> values = new LinkedHashMap<>();
+        counters.forEach((key, counter) -> values.put(key, counter.get()));
+        return values;
+    }
+
+    // Adds the difference from the snapshot taken before the query instead of overwriting, so
+    // increments from transactions committing while the query runs are kept
+    @SuppressWarnings("unchecked")
+    private static <E extends Enum<E>> void correct(Map<E, AtomicLong> counters, Map<E, Long> snapshot,
+                                                    List<Object[]> rows) {
+        Map<E, Long> fresh = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            if (row[0] != null) {
+                fresh.put((E) row[0], (Long) row[1]);
+            }
+        }
+        counters.forEach((key, counter) -> counter.addAndGet(fresh.getOrDefault(key, 0L) - snapshot.get(key)));
+    }
+
+    private static long sum(Map<?, AtomicLong> counters) {
+        return counters.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    // Counters must not reflect writes that end up rolled back
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.ticketing.service;
+
+import com.ticketing.config.VirtualThreads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decouples request threads from SMTP. Messages are put on a bounded queue and drained by a
+ * single worker that hands up to {@code batchSize} messages to the mail sender at once, so a
+ * batch shares one SMTP connection. Failed messages are retried with exponential backoff.
+ */
+@Service
+public class EmailDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(EmailDispatcher.class);
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${notification.email.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${notification.email.batch-size:50}")
+    private int batchSize;
+
+    @Value("${notification.email.offer-timeout-ms:100}")
+    private long offerTimeoutMs;
+
+    @Value("${notification.email.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${notification.email.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
+
+    @Value("${threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private BlockingQueue<PendingEmail> queue;
+    private ExecutorService worker;
+    private ScheduledExecutorService retryScheduler;
+    private volatile boolean running;
+
+    private Timer sendSuccessTimer;
+    private Timer sendFailureTimer;
+    private Counter sentCounter;
+    private Counter retriedCounter;
+    private Counter droppedCounter;
+    private Counter abandonedCounter;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        // One timing per batch handed to SMTP; message outcomes are counted separately
+        sendSuccessTimer = meterRegistry.timer("email.send", "outcome", "success");
+        sendFailureTimer = meterRegistry.timer("email.send", "outcome", "failure");
+        sentCounter = meterRegistry.counter("email.messages", "result", "sent");
+        retriedCounter = meterRegistry.counter("email.messages", "result", "retried");
+        droppedCounter = meterRegistry.counter("email.messages", "result", "dropped");
+        abandonedCounter = meterRegistry.counter("email.messages", "result", "abandoned");
+        Gauge.builder("email.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+        worker = Executors.newSingleThreadExecutor(threadFactory("email-dispatcher"));
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(threadFactory("email-retry"));
+        running = true;
+        worker.submit(this::drainLoop);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        retryScheduler.shutdownNow();
+        worker.shutdown();
+        try {
+            if (!worker.awaitTermination(10, TimeUnit.SECONDS)) {
+                worker.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            worker.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            logger.warn("Email dispatcher stopped with {} undelivered messages", queue.size());
+        }
+    }
+
+    /**
+     * Queues a message for delivery. Blocks the caller for at most {@code offerTimeoutMs} when the
+     * queue is full and returns false if the message had to be dropped.
+     */
+    public boolean enqueue(SimpleMailMessage message) {
+        return offer(new PendingEmail(message, 1));
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private boolean offer(PendingEmail email) {
+        try {
+            if (queue.offer(email, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            droppedCounter.increment();
+            logger.warn("Email queue full, dropping notification to: {}", recipients(email.message));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    private void drainLoop() {
+        List<PendingEmail> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingEmail first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Unexpected error in email dispatcher: {}", e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(List<PendingEmail> batch) {
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            messages[i] = batch.get(i).message;
+        }
+
+        long start = System.nanoTime();
+        try {
+            mailSender.send(messages);
+            sendSuccessTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            sentCounter.increment(messages.length);
+            logger.info("Sent batch of {} notification emails", messages.length);
+        } catch (MailSendException e) {
+            sendFailureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            Map<Object, Exception> failed = e.getFailedMessages();
+            sentCounter.increment(failed.isEmpty() ? 0 : messages.length - failed.size());
+            if (failed.isEmpty()) {
+                // Connection-level failure: nothing in the batch was delivered
+                batch.forEach(email -> retry(email, e));
+            } else {
+                for (PendingEmail email : batch) {
+                    if (failed.containsKey(email.message)) {
+                        retry(email, failed.get(email.message));
+                    }
+                }
+            }
+        } catch (Exception e) {
+            sendFailureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batch.forEach(email -> retry(email, e));
+        }
+    }
+
+    private void retry(PendingEmail email, Exception cause) {
+        if (email.attempt >= maxAttempts) {
+            abandonedCounter.increment();
+            logger.error("Giving up on notification to {} after {} attempts: {}",
+                    recipients(email.message), email.attempt, cause.getMessage());
+            return;
+        }
+        long delay = initialBackoffMs << (email.attempt - 1);
+        logger.warn("Failed to send notification to {} (attempt {}), retrying in {} ms: {}",
+                recipients(email.message), email.attempt, delay, cause.getMessage());
+        if (running) {
+            retriedCounter.increment();
+            retryScheduler.schedule(() -> offer(new PendingEmail(email.message, email.attempt + 1)),
+                    delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // The worker spends its time blocked on SMTP, which suits a virtual thread when they are enabled
+    private ThreadFactory threadFactory(String name) {
+        if (virtualThreads && VirtualThreads.isSupported()) {
+            return VirtualThreads.threadFactory(name + "-");
+        }
+        return r -> {
+            Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static String recipients(SimpleMailMessage message) {
+        return message.getTo() != null ? String.join(", ", message.getTo()) : "";
+    }
+
+    private static class PendingEmail {
+        private final SimpleMailMessage message;
+        private final int attempt;
+
+        private PendingEmail(SimpleMailMessage message, int attempt) {
+            this.message = message;
+            this.attempt = attempt;
+        }
+    }
+}
@@ -3,25 +3,98 @@ package com.ticketing.service;
 import com.ticketing.model.Comment;
 import com.ticketing.model.Status;
 import com.ticketing.model.Ticket;
+import com.ticketing.model.TicketEvent;
+import com.ticketing.model.TicketEventType;
 import com.ticketing.model.User;
+import com.ticketing.repository.CommentRepository;
+import com.ticketing.repository.TicketRepository;
+import com.ticketing.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Service
-public class EmailService {
+public class EmailService implements TicketEventHandler {
     private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
+    private static final int BULK_LIST_LIMIT = 50;
+
+    @Autowired
+    private EmailDispatcher emailDispatcher;
+
+    @Autowired
+    private TicketRepository ticketRepository;
 
     @Autowired
-    private JavaMailSender mailSender;
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
 
     @Value("${spring.mail.username}")
     private String fromEmail;
 
+    @Override
+    public void handle(TicketEvent event) {
+        if (event.getType() == TicketEventType.BULK_STATUS_CHANGED || event.getType() == TicketEventType.BULK_ASSIGNED) {
+            handleBulk(event);
+            return;
+        }
+
+        Ticket ticket = ticketRepository.findById(event.getTicketId()).orElse(null);
+        if (ticket == null) {
+            logger.debug("Skipping notification for deleted ticket #{}", event.getTicketId());
+            return;
+        }
+
+        switch (event.getType()) {
+            case TICKET_CREATED -> sendTicketCreatedNotification(ticket);
+            case STATUS_CHANGED -> sendTicketStatusChangeNotification(ticket, event.getOldStatus(), event.getNewStatus());
+            case TICKET_ASSIGNED -> sendTicketAssignmentNotification(ticket,
+                    findUser(event.getOldAssigneeId()), findUser(event.getNewAssigneeId()));
+            case COMMENT_ADDED -> commentRepository.findWithAuthorAndTicketById(event.getCommentId())
+                    .ifPresent(this::sendCommentAddedNotification);
+            default -> logger.warn("Unhandled ticket event type {}", event.getType());
+        }
+    }
+
+    // A bulk event becomes one message per recipient rather than one per ticket
+    private void handleBulk(TicketEvent event) {
+        List<Ticket> tickets = ticketRepository.findWithUsersByIdIn(TicketEventService.parseTicketIds(event.getTicketIds()));
+        if (tickets.isEmpty()) {
+            return;
+        }
+
+        if (event.getType() == TicketEventType.BULK_ASSIGNED) {
+            User assignee = findUser(event.getNewAssigneeId());
+            if (assignee != null) {
+                sendBulkNotification(assignee.getEmail(), tickets.size() + " tickets assigned to you",
+                        "The following tickets have been assigned to you.", tickets);
+            }
+            return;
+        }
+
+        Map<String, List<Ticket>> byCreator = new LinkedHashMap<>();
+        for (Ticket ticket : tickets) {
+            byCreator.computeIfAbsent(ticket.getCreator().getEmail(), email -> new ArrayList<>()).add(ticket);
+        }
+        byCreator.forEach((email, created) -> sendBulkNotification(email,
+                created.size() == 1 ? "Ticket Status Updated - #" + created.get(0).getId()
+                        : created.size() + " of your tickets were updated",
+                "The status of your tickets has been changed to " + event.getNewStatus() + ".", created));
+    }
+
+    private User findUser(Long id) {
+        return id != null ? userRepository.findById(id).orElse(null) : null;
+    }
+
     public void sendTicketCreatedNotification(Ticket ticket) {
         try {
             SimpleMailMessage message = new SimpleMailMessage();
@@ -35,10 +108,11 @@ public class EmailService {
                     "Status: " + ticket.getStatus() + "\n\n" +
                     "We will get back to you soon.");
             
-            mailSender.send(message);
-            logger.info("Ticket created notification sent to: {}", ticket.getCreator().getEmail());
+            if (emailDispatcher.enqueue(message)) {
+                logger.info("Ticket created notification queued for: {}", ticket.getCreator().getEmail());
+            }
         } catch (Exception e) {
-            logger.error("Failed to send ticket created notification: {}", e.getMessage());
+            logger.error("Failed to queue ticket created notification: {}", e.getMessage());
         }
     }
 
@@ -55,10 +129,11 @@ public class EmailService {
                     "New Status: " + newStatus + "\n\n" +
                     "Thank you for your patience.");
             
-            mailSender.send(message);
-            logger.info("Ticket status change notification sent to: {}", ticket.getCreator().getEmail());
+            if (emailDispatcher.enqueue(message)) {
+                logger.info("Ticket status change notification queued for: {}", ticket.getCreator().getEmail());
+            }
         } catch (Exception e) {
-            logger.error("Failed to send ticket status change notification: {}", e.getMessage());
+            logger.error("Failed to queue ticket status change notification: {}", e.getMessage());
         }
     }
 
@@ -76,11 +151,39 @@ public class EmailService {
                         "Status: " + ticket.getStatus() + "\n\n" +
                         "Please review and take action as needed.");
                 
-                mailSender.send(message);
-                logger.info("Ticket assignment notification sent to: {}", newAssignee.getEmail());
+                if (emailDispatcher.enqueue(message)) {
+                    logger.info("Ticket assignment notification queued for: {}", newAssignee.getEmail());
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Failed to queue ticket assignment notification: {}", e.getMessage());
+        }
+    }
+
+    public void sendBulkNotification(String recipientEmail, String subject, String intro, List<Ticket> tickets) {
+        try {
+            StringBuilder text = new StringBuilder(intro).append("\n\n");
+            int listed = Math.min(tickets.size(), BULK_LIST_LIMIT);
+            for (Ticket ticket : tickets.subList(0, listed)) {
+                text.append("#").append(ticket.getId()).append(" ").append(ticket.getSubject())
+                        .append(" (").append(ticket.getPriority()).append(", ").append(ticket.getStatus()).append(")\n");
+            }
+            if (tickets.size() > listed) {
+                text.append("...and ").append(tickets.size() - listed).append(" more\n");
+            }
+            text.append("\nPlease check the ticketing system for more details.");
+
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(fromEmail);
+            message.setTo(recipientEmail);
+            message.setSubject(subject);
+            message.setText(text.toString());
+
+            if (emailDispatcher.enqueue(message)) {
+                logger.info("Bulk notification covering {} tickets queued for: {}", tickets.size(), recipientEmail);
             }
         } catch (Exception e) {
-            logger.error("Failed to send ticket assignment notification: {}", e.getMessage());
+            logger.error("Failed to queue bulk notification: {}", e.getMessage());
         }
     }
 
@@ -102,11 +205,12 @@ public class EmailService {
                         "Comment: " + comment.getContent() + "\n\n" +
                         "Please check your ticket for more details.");
                 
-                mailSender.send(message);
-                logger.info("Comment notification sent to: {}", recipientEmail);
+                if (emailDispatcher.enqueue(message)) {
+                    logger.info("Comment notification queued for: {}", recipientEmail);
+                }
             }
         } catch (Exception e) {
-            logger.error("Failed to send comment notification: {}", e.getMessage());
+            logger.error("Failed to queue comment notification: {}", e.getMessage());
         }
     }
 }
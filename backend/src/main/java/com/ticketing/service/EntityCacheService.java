@@ -0,0 +1,123 @@
+package com.ticketing.service;
+
+import com.ticketing.model.Comment;
+import com.ticketing.model.Ticket;
+import com.ticketing.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Access to the Hibernate second-level cache. Writes that go through the persistence context keep
+ * the READ_WRITE regions consistent on their own; this service is for writes that bypass it (bulk
+ * JPQL/native updates) and for the hit/miss figures behind GET /api/admin/cache.
+ */
+@Service
+public class EntityCacheService {
+    public static final String ACTIVE_USERS_REGION = "query.activeUsersByRole";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public void evictTicket(Long ticketId) {
+        evict(Ticket.class, ticketId);
+    }
+
+    public void evictUser(Long userId) {
+        evict(User.class, userId);
+        evictActiveUserQueries();
+    }
+
+    public void evictComment(Long commentId) {
+        evict(Comment.class, commentId);
+    }
+
+    public void evictAllTickets() {
+        afterCommit(() -> cache().evictEntityData(Ticket.class));
+    }
+
+    public void evictActiveUserQueries() {
+        afterCommit(() -> cache().evictQueryRegion(ACTIVE_USERS_REGION));
+    }
+
+    public void evictAll() {
+        cache().evictAllRegions();
+    }
+
+    // Hit and miss counts are only collected while enabled; see hibernate.generate_statistics
+    public void setStatisticsEnabled(boolean enabled) {
+        sessionFactory().getStatistics().setStatisticsEnabled(enabled);
+    }
+
+    public Map<String, Object> getStatistics() {
+        Statistics statistics = sessionFactory().getStatistics();
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStats = statistics.getDomainDataRegionStatistics(region);
+            if (regionStats != null) {
+                regions.put(region, regionStatistics(regionStats));
+            }
+        }
+        CacheRegionStatistics activeUsers = statistics.getQueryRegionStatistics(ACTIVE_USERS_REGION);
+        if (activeUsers != null) {
+            regions.put(ACTIVE_USERS_REGION, regionStatistics(activeUsers));
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        result.put("secondLevelCacheHits", statistics.getSecondLevelCacheHitCount());
+        result.put("secondLevelCacheMisses", statistics.getSecondLevelCacheMissCount());
+        result.put("secondLevelCachePuts", statistics.getSecondLevelCachePutCount());
+        result.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        result.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+        result.put("regions", regions);
+        return result;
+    }
+
+    private void evict(Class<?> entityClass, Long id) {
+        if (id != null) {
+            // Evict now so this transaction re-reads, and again once the write is visible to others
+            cache().evictEntityData(entityClass, id);
+            afterCommit(() -> cache().evictEntityData(entityClass, id));
+        }
+    }
+
+    private static Map<String, Object> regionStatistics(CacheRegionStatistics stats) {
+        Map<String, Object> region = new LinkedHashMap<>();
+        region.put("hits", stats.getHitCount());
+        region.put("misses", stats.getMissCount());
+        region.put("puts", stats.getPutCount());
+        region.put("size", stats.getElementCountInMemory());
+        return region;
+    }
+
+    private Cache cache() {
+        return sessionFactory().getCache();
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.ticketing.service;
+
+import com.ticketing.model.TicketEvent;
+
+/**
+ * Consumer of outbox events relayed by {@link TicketEventRelay}. Delivery is at-least-once,
+ * so implementations must tolerate seeing the same event more than once.
+ */
+public interface TicketEventHandler {
+    void handle(TicketEvent event);
+}
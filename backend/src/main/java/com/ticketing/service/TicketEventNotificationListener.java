@@ -0,0 +1,101 @@
+package com.ticketing.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * LISTENs on {@link TicketEventNotifier#CHANNEL} and publishes each announced event to this
+ * instance's ticket streams. Uses its own connection to the primary rather than one from the pool,
+ * since it is held for the lifetime of the application. Events announced while the connection is
+ * down are not replayed; the affected streams catch up when their clients next reload the lists.
+ */
+@Component
+public class TicketEventNotificationListener {
+    private static final Logger logger = LoggerFactory.getLogger(TicketEventNotificationListener.class);
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private TicketStreamService ticketStreamService;
+
+    @Value("${stream.listen-poll-ms:500}")
+    private int pollMs;
+
+    @Value("${stream.listen-reconnect-ms:5000}")
+    private long reconnectMs;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        thread = new Thread(this::listen, "ticket-event-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(primaryDataSource.getJdbcUrl(),
+                    primaryDataSource.getUsername(), primaryDataSource.getPassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + TicketEventNotifier.CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            publish(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Ticket event listener lost its connection, reconnecting in {} ms: {}", reconnectMs, e.getMessage());
+                try {
+                    Thread.sleep(reconnectMs);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // Live updates are best effort; a failed push is logged and the next event is handled
+    private void publish(String eventId) {
+        try {
+            ticketStreamService.publish(Long.valueOf(eventId));
+        } catch (RuntimeException e) {
+            logger.warn("Failed to push ticket event {} to streams: {}", eventId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.ticketing.service;
+
+import com.ticketing.model.TicketEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Announces each relayed event on a Postgres channel so that every instance, not only the one whose
+ * relay claimed it, can push it to its ticket streams. The NOTIFY is sent in the relay's handler
+ * transaction and delivered when that commits; the payload is just the event id.
+ */
+@Service
+public class TicketEventNotifier implements TicketEventHandler {
+    public static final String CHANNEL = "ticket_events";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void handle(TicketEvent event) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> {}, CHANNEL, String.valueOf(event.getId()));
+    }
+}
@@ -0,0 +1,97 @@
+package com.ticketing.service;
+
+import com.ticketing.model.TicketEvent;
+import com.ticketing.repository.TicketEventRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Polls the ticket_events outbox and hands each pending event to every {@link TicketEventHandler}.
+ * Batches are claimed with FOR UPDATE SKIP LOCKED, so several application instances can relay
+ * concurrently without double-processing a batch.
+ *
+ * Each event's handlers run in their own transaction, so a handler failing inside a repository call
+ * rolls back only that work; the claiming transaction, which records attempts and processed_at for
+ * the whole batch, stays committable.
+ */
+@Service
+public class TicketEventRelay {
+    private static final Logger logger = LoggerFactory.getLogger(TicketEventRelay.class);
+
+    @Autowired
+    private TicketEventRepository ticketEventRepository;
+
+    @Autowired
+    private List<TicketEventHandler> handlers;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.relay.retention-days:7}")
+    private int retentionDays;
+
+    private TransactionTemplate handlerTransaction;
+
+    @PostConstruct
+    public void init() {
+        handlerTransaction = new TransactionTemplate(transactionManager);
+        handlerTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:1000}")
+    @Transactional
+    public void relayPendingEvents() {
+        List<TicketEvent> events = ticketEventRepository.lockNextBatch(batchSize);
+        for (TicketEvent event : events) {
+            try {
+                handlerTransaction.executeWithoutResult(status -> {
+                    for (TicketEventHandler handler : handlers) {
+                        handler.handle(event);
+                    }
+                });
+                event.setProcessedAt(LocalDateTime.now());
+            } catch (Exception e) {
+                event.setAttempts(event.getAttempts() + 1);
+                event.setLastError(e.getMessage());
+                if (event.getAttempts() >= maxAttempts) {
+                    // Park the event; it stays in the table with its last error for inspection
+                    event.setProcessedAt(LocalDateTime.now());
+                    logger.error("Giving up on ticket event {} after {} attempts: {}", event.getId(), event.getAttempts(), e.getMessage());
+                } else {
+                    logger.warn("Failed to relay ticket event {} (attempt {}): {}", event.getId(), event.getAttempts(), e.getMessage());
+                }
+            }
+        }
+        if (!events.isEmpty()) {
+            ticketEventRepository.saveAll(events);
+            logger.debug("Relayed {} ticket events", events.size());
+        }
+    }
+
+    @Scheduled(cron = "${outbox.relay.cleanup-cron:0 0 3 * * *}")
+    @Transactional
+    public void purgeProcessedEvents() {
+        int deleted = ticketEventRepository.deleteProcessedBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            logger.info("Purged {} processed ticket events", deleted);
+        }
+    }
+}
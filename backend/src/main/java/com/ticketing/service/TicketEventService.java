@@ -0,0 +1,85 @@
+package com.ticketing.service;
+
+import com.ticketing.model.*;
+import com.ticketing.repository.TicketEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Writes outbox rows. Every method must run inside the transaction that changes the ticket or
+ * comment, so the event is committed or rolled back together with it.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class TicketEventService {
+    @Autowired
+    private TicketEventRepository ticketEventRepository;
+
+    public void ticketCreated(Ticket ticket) {
+        TicketEvent event = new TicketEvent(TicketEventType.TICKET_CREATED, ticket.getId(), ticket.getCreator().getId());
+        event.setNewStatus(ticket.getStatus());
+        ticketEventRepository.save(event);
+    }
+
+    public void statusChanged(Ticket ticket, Status oldStatus, Status newStatus, User updatedBy) {
+        TicketEvent event = new TicketEvent(TicketEventType.STATUS_CHANGED, ticket.getId(), idOf(updatedBy));
+        event.setOldStatus(oldStatus);
+        event.setNewStatus(newStatus);
+        ticketEventRepository.save(event);
+    }
+
+    public void ticketAssigned(Ticket ticket, User oldAssignee, User newAssignee, User assignedBy) {
+        TicketEvent event = new TicketEvent(TicketEventType.TICKET_ASSIGNED, ticket.getId(), idOf(assignedBy));
+        event.setOldAssigneeId(idOf(oldAssignee));
+        event.setNewAssigneeId(idOf(newAssignee));
+        event.setNewStatus(ticket.getStatus());
+        ticketEventRepository.save(event);
+    }
+
+    public void commentAdded(Comment comment) {
+        TicketEvent event = new TicketEvent(TicketEventType.COMMENT_ADDED, comment.getTicket().getId(), comment.getAuthor().getId());
+        event.setCommentId(comment.getId());
+        ticketEventRepository.save(event);
+    }
+
+    // One row per bulk operation; the relay fans it out into one notification per recipient
+    public void bulkStatusChanged(List<Long> ticketIds, Status newStatus, User updatedBy) {
+        TicketEvent event = bulkEvent(TicketEventType.BULK_STATUS_CHANGED, ticketIds, updatedBy);
+        event.setNewStatus(newStatus);
+        ticketEventRepository.save(event);
+    }
+
+    public void bulkAssigned(List<Long> ticketIds, User newAssignee, User assignedBy) {
+        TicketEvent event = bulkEvent(TicketEventType.BULK_ASSIGNED, ticketIds, assignedBy);
+        event.setNewAssigneeId(idOf(newAssignee));
+        ticketEventRepository.save(event);
+    }
+
+    public static List<Long> parseTicketIds(String ticketIds) {
+        List<Long> ids = new ArrayList<>();
+        if (ticketIds != null) {
+            for (String id : ticketIds.split(",")) {
+                if (!id.isBlank()) {
+                    ids.add(Long.valueOf(id.trim()));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static TicketEvent bulkEvent(TicketEventType type, List<Long> ticketIds, User actor) {
+        TicketEvent event = new TicketEvent(type, ticketIds.get(0), idOf(actor));
+        event.setTicketIds(ticketIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        return event;
+    }
+
+    private static Long idOf(User user) {
+        return user != null ? user.getId() : null;
+    }
+}
@@ -0,0 +1,202 @@
+package com.ticketing.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketing.dto.ImportResponse;
+import com.ticketing.dto.TicketImportRecord;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads a legacy helpdesk export into tickets and comments with Postgres COPY. The input is a JSON
+ * array of {@link TicketImportRecord} (or one object per line), read as a stream and written in
+ * chunks, so memory use does not grow with the size of the export. Ids are reserved in blocks from
+ * the same pooled sequences Hibernate uses. The whole import is one transaction.
+ *
+ * Imported tickets get the import time as updated_at rather than the export's, so clients holding a
+ * delta sync token pick them up as changes. Rows are written with the start time and moved to the
+ * finish time just before commit, so a long import cannot fall behind a token issued while it ran.
+ */
+@Service
+public class TicketImportService {
+    private static final Logger logger = LoggerFactory.getLogger(TicketImportService.class);
+
+    // INCREMENT BY of tickets_seq and comments_seq (V1__baseline_schema.sql), the entities' allocationSize
+    private static final int SEQUENCE_INCREMENT = 50;
+
+    private static final String TICKET_COLUMNS = "id, subject, description, priority, status, creator_id, assignee_id, " +
+            "rating, feedback, created_at, updated_at, resolved_at, version";
+    private static final String COMMENT_COLUMNS = "id, content, ticket_id, author_id, created_at";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Transactional
+    public ImportResponse importTickets(InputStream input) throws IOException {
+        long started = System.currentTimeMillis();
+        LocalDateTime importedAt = LocalDateTime.now();
+        Map<String, Long> userIds = loadUserIds();
+        List<TicketImportRecord> chunk = new ArrayList<>(chunkSize);
+        long tickets = 0;
+        long comments = 0;
+
+        try (MappingIterator<TicketImportRecord> records = objectMapper.readerFor(TicketImportRecord.class).readValues(input)) {
+            while (records.hasNextValue()) {
+                TicketImportRecord record = records.nextValue();
+                validate(record, tickets + chunk.size() + 1, userIds);
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    comments += copyChunk(chunk, userIds, importedAt);
+                    tickets += chunk.size();
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            comments += copyChunk(chunk, userIds, importedAt);
+            tickets += chunk.size();
+        }
+        if (tickets > 0) {
+            // Served by idx_tickets_updated_at; a ticket saved in the same microsecond is only re-sent
+            jdbcTemplate.update("UPDATE tickets SET updated_at = ? WHERE updated_at = ?", LocalDateTime.now(), importedAt);
+        }
+
+        long duration = System.currentTimeMillis() - started;
+        logger.info("Imported {} tickets and {} comments in {} ms", tickets, comments, duration);
+        return new ImportResponse(tickets, comments, duration);
+    }
+
+    private Map<String, Long> loadUserIds() {
+        Map<String, Long> userIds = new HashMap<>();
+        jdbcTemplate.query("SELECT id, username FROM users", rs -> {
+            userIds.put(rs.getString("username"), rs.getLong("id"));
+        });
+        return userIds;
+    }
+
+    private static void validate(TicketImportRecord record, long index, Map<String, Long> userIds) {
+        if (record.getSubject() == null || record.getSubject().isBlank() || record.getSubject().length() > 200) {
+            throw new IllegalArgumentException("Record " + index + ": subject is required and limited to 200 characters");
+        }
+        if (record.getDescription() == null || record.getDescription().isBlank()) {
+            throw new IllegalArgumentException("Record " + index + ": description is required");
+        }
+        if (!userIds.containsKey(record.getCreator())) {
+            throw new IllegalArgumentException("Record " + index + ": unknown creator '" + record.getCreator() + "'");
+        }
+        if (record.getAssignee() != null && !userIds.containsKey(record.getAssignee())) {
+            throw new IllegalArgumentException("Record " + index + ": unknown assignee '" + record.getAssignee() + "'");
+        }
+        for (TicketImportRecord.CommentRecord comment : record.getComments()) {
+            if (!userIds.containsKey(comment.getAuthor())) {
+                throw new IllegalArgumentException("Record " + index + ": unknown comment author '" + comment.getAuthor() + "'");
+            }
+            if (comment.getContent() == null || comment.getContent().isBlank()) {
+                throw new IllegalArgumentException("Record " + index + ": comment content is required");
+            }
+        }
+    }
+
+    private long copyChunk(List<TicketImportRecord> chunk, Map<String, Long> userIds, LocalDateTime importedAt) {
+        int commentCount = chunk.stream().mapToInt(record -> record.getComments().size()).sum();
+        Deque<Long> ticketIds = reserveIds("tickets_seq", chunk.size());
+        Deque<Long> commentIds = reserveIds("comments_seq", commentCount);
+
+        StringBuilder ticketRows = new StringBuilder();
+        StringBuilder commentRows = new StringBuilder();
+        for (TicketImportRecord record : chunk) {
+            long ticketId = ticketIds.removeFirst();
+            LocalDateTime createdAt = record.getCreatedAt() != null ? record.getCreatedAt() : importedAt;
+            appendRow(ticketRows, ticketId, record.getSubject(), record.getDescription(), record.getPriority(),
+                    record.getStatus(), userIds.get(record.getCreator()),
+                    record.getAssignee() != null ? userIds.get(record.getAssignee()) : null,
+                    record.getRating(), record.getFeedback(), createdAt, importedAt, record.getResolvedAt(), 0);
+
+            for (TicketImportRecord.CommentRecord comment : record.getComments()) {
+                appendRow(commentRows, commentIds.removeFirst(), comment.getContent(), ticketId,
+                        userIds.get(comment.getAuthor()),
+                        comment.getCreatedAt() != null ? comment.getCreatedAt() : createdAt);
+            }
+        }
+
+        copy("tickets", TICKET_COLUMNS, ticketRows);
+        if (commentCount > 0) {
+            copy("comments", COMMENT_COLUMNS, commentRows);
+        }
+        return commentCount;
+    }
+
+    // Takes whole blocks from a pooled sequence; each nextval owns the INCREMENT ids ending at it
+    private Deque<Long> reserveIds(String sequence, int count) {
+        Deque<Long> ids = new ArrayDeque<>(count);
+        if (count == 0) {
+            return ids;
+        }
+        int blocks = (count + SEQUENCE_INCREMENT - 1) / SEQUENCE_INCREMENT;
+        List<Long> highValues = jdbcTemplate.queryForList(
+                "SELECT nextval('" + sequence + "') FROM generate_series(1, ?)", Long.class, blocks);
+        for (Long high : highValues) {
+            for (long id = Math.max(1, high - SEQUENCE_INCREMENT + 1); id <= high && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private void copy(String table, String columns, StringBuilder rows) {
+        // The connection bound to the current transaction, so COPY commits or rolls back with it
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn("COPY " + table + " (" + columns + ") FROM STDIN WITH (FORMAT csv)", new StringReader(rows.toString()));
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("COPY into " + table + " failed: " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    // CSV row: every value quoted, nulls left empty so COPY reads them as NULL
+    private static void appendRow(StringBuilder rows, Object... values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                rows.append(',');
+            }
+            Object value = values[i];
+            if (value != null) {
+                rows.append('"').append(value.toString().replace("\"", "\"\"")).append('"');
+            }
+        }
+        rows.append('\n');
+    }
+}
@@ -1,22 +1,68 @@
 package com.ticketing.service;
 
+import com.ticketing.dto.TicketCursor;
+import com.ticketing.dto.TicketPage;
 import com.ticketing.dto.TicketRequest;
+import com.ticketing.dto.TicketSummary;
 import com.ticketing.model.*;
+import com.ticketing.repository.AttachmentRepository;
+import com.ticketing.repository.CommentRepository;
 import com.ticketing.repository.TicketRepository;
+import com.ticketing.repository.TicketScopeExitRepository;
+import com.ticketing.repository.TicketTombstoneRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
 
 @Service
 public class TicketService {
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // Tagged with the method name by the TimedAspect
+    private static final String OPERATION_TIMER = "tickets.service";
+
     @Autowired
     private TicketRepository ticketRepository;
 
     @Autowired
-    private EmailService emailService;
+    private CommentRepository commentRepository;
 
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+
+    @Autowired
+    private TicketTombstoneRepository ticketTombstoneRepository;
+
+    @Autowired
+    private TicketScopeExitRepository ticketScopeExitRepository;
+
+    @Autowired
+    private TicketEventService ticketEventService;
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Timed(OPERATION_TIMER)
+    @Transactional
     public Ticket createTicket(TicketRequest ticketRequest, User creator) {
         Ticket ticket = new Ticket(
                 ticketRequest.getSubject(),
@@ -27,42 +73,116 @@ public class TicketService {
 
         Ticket savedTicket = ticketRepository.save(ticket);
         
-        // Send email notification
-        emailService.sendTicketCreatedNotification(savedTicket);
+        // Record the event in the outbox; notifications are relayed after commit
+        ticketEventService.ticketCreated(savedTicket);
+        dashboardStatsService.ticketCreated(savedTicket.getStatus(), savedTicket.getPriority());
         
         return savedTicket;
     }
 
-    public List<Ticket> getAllTickets() {
-        return ticketRepository.findAll();
+    @Timed(OPERATION_TIMER)
+    @Transactional(readOnly = true)
+    public TicketPage getTicketsPage(TicketCursor cursor, int size) {
+        int limit = clampPageSize(size);
+        List<TicketSummary> rows = cursor == null
+                ? ticketRepository.findFirstPage(PageRequest.ofSize(limit + 1))
+                : ticketRepository.findPageAfter(cursor.getCreatedAt(), cursor.getId(), PageRequest.ofSize(limit + 1));
+        return toPage(rows, limit);
     }
 
-    public List<Ticket> getUserTickets(User user) {
-        return ticketRepository.findByCreator(user);
+    @Timed(OPERATION_TIMER)
+    @Transactional(readOnly = true)
+    public TicketPage getUserTicketsPage(User user, TicketCursor cursor, int size) {
+        int limit = clampPageSize(size);
+        List<TicketSummary> rows = cursor == null
+                ? ticketRepository.findFirstPageByCreator(user, PageRequest.ofSize(limit + 1))
+                : ticketRepository.findPageByCreatorAfter(user, cursor.getCreatedAt(), cursor.getId(), PageRequest.ofSize(limit + 1));
+        return toPage(rows, limit);
     }
 
-    public List<Ticket> getAssignedTickets(User user) {
-        return ticketRepository.findByAssignee(user);
+    @Timed(OPERATION_TIMER)
+    @Transactional(readOnly = true)
+    public TicketPage getUserRelatedTicketsPage(User user, TicketCursor cursor, int size) {
+        int limit = clampPageSize(size);
+        List<TicketSummary> rows = cursor == null
+                ? ticketRepository.findFirstPageByCreatorOrAssignee(user, PageRequest.ofSize(limit + 1))
+                : ticketRepository.findPageByCreatorOrAssigneeAfter(user, cursor.getCreatedAt(), cursor.getId(), PageRequest.ofSize(limit + 1));
+        return toPage(rows, limit);
     }
 
-    public List<Ticket> getUserRelatedTickets(User user) {
-        return ticketRepository.findByCreatorOrAssignee(user);
+    /**
+     * Ticket counts by status over the tickets {@code user} can list: their own tickets, or for
+     * support agents the tickets they created or are assigned. Admins read the precomputed
+     * counters from {@link DashboardStatsService} instead.
+     */
+    @Timed(OPERATION_TIMER)
+    @Transactional(readOnly = true)
+    public Map<String, Long> getTicketStats(User user) {
+        List<Object[]> rows = user.getRole() == Role.SUPPORT_AGENT
+                ? ticketRepository.countGroupByStatusForCreatorOrAssignee(user)
+                : ticketRepository.countGroupByStatusForCreator(user);
+        Map<Status, Long> byStatus = new EnumMap<>(Status.class);
+        for (Object[] row : rows) {
+            byStatus.put((Status) row[0], (Long) row[1]);
+        }
+        return DashboardStatsService.ticketCounts(byStatus);
     }
 
+    private int clampPageSize(int size) {
+        if (size < 1) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    // One extra row is fetched to decide whether a next page exists without a COUNT query
+    private TicketPage toPage(List<TicketSummary> rows, int limit) {
+        if (rows.size() <= limit) {
+            return new TicketPage(rows, null, rows.size());
+        }
+        List<TicketSummary> items = rows.subList(0, limit);
+        String nextCursor = TicketCursor.of(items.get(limit - 1)).encode();
+        return new TicketPage(items, nextCursor, limit);
+    }
+
+    // Single-ticket reads feed access checks and follow-up writes, so they stay on the primary
+    @Timed(OPERATION_TIMER)
+    @Transactional
     public Optional<Ticket> getTicketById(Long id) {
         return ticketRepository.findById(id);
     }
 
+    // Creator and assignee come back in the same statement, ready to map to a TicketDetail
+    @Timed(OPERATION_TIMER)
+    @Transactional
+    public Optional<Ticket> getTicketWithUsers(Long id) {
+        return ticketRepository.findWithUsersById(id);
+    }
+
+    @Timed(OPERATION_TIMER)
+    @Transactional
     public Ticket updateTicketStatus(Long id, Status status, User updatedBy) {
+        return updateTicketStatus(id, status, updatedBy, null);
+    }
+
+    /**
+     * Fails with an {@link ObjectOptimisticLockingFailureException} when {@code expectedVersion} is
+     * given and no longer current, or when another transaction commits a change first.
+     */
+    @Timed(OPERATION_TIMER)
+    @Transactional
+    public Ticket updateTicketStatus(Long id, Status status, User updatedBy, Long expectedVersion) {
         return ticketRepository.findById(id)
                 .map(ticket -> {
+                    checkVersion(ticket, expectedVersion);
                     Status oldStatus = ticket.getStatus();
                     ticket.setStatus(status);
                     Ticket savedTicket = ticketRepository.save(ticket);
                     
-                    // Send email notification for status change
+                    // Record status change event for notification
                     if (!oldStatus.equals(status)) {
-                        emailService.sendTicketStatusChangeNotification(savedTicket, oldStatus, status);
+                        ticketEventService.statusChanged(savedTicket, oldStatus, status, updatedBy);
+                        dashboardStatsService.ticketStatusChanged(oldStatus, status);
                     }
                     
                     return savedTicket;
@@ -70,27 +190,49 @@ public class TicketService {
                 .orElseThrow(() -> new RuntimeException("Ticket not found with id " + id));
     }
 
+    @Timed(OPERATION_TIMER)
+    @Transactional
     public Ticket assignTicket(Long id, User assignee, User assignedBy) {
+        return assignTicket(id, assignee, assignedBy, null);
+    }
+
+    @Timed(OPERATION_TIMER)
+    @Transactional
+    public Ticket assignTicket(Long id, User assignee, User assignedBy, Long expectedVersion) {
         return ticketRepository.findById(id)
                 .map(ticket -> {
+                    checkVersion(ticket, expectedVersion);
                     User oldAssignee = ticket.getAssignee();
+                    // Lets delta sync tell the previous assignee's clients to drop the ticket
+                    ticketScopeExitRepository.recordReassigned(List.of(id), assignee != null ? assignee.getId() : null,
+                            LocalDateTime.now());
                     ticket.setAssignee(assignee);
                     if (ticket.getStatus() == Status.OPEN) {
                         ticket.setStatus(Status.IN_PROGRESS);
+                        dashboardStatsService.ticketStatusChanged(Status.OPEN, Status.IN_PROGRESS);
                     }
                     Ticket savedTicket = ticketRepository.save(ticket);
                     
-                    // Send email notification for assignment
-                    emailService.sendTicketAssignmentNotification(savedTicket, oldAssignee, assignee);
+                    // Record assignment event for notification
+                    ticketEventService.ticketAssigned(savedTicket, oldAssignee, assignee, assignedBy);
                     
                     return savedTicket;
                 })
                 .orElseThrow(() -> new RuntimeException("Ticket not found with id " + id));
     }
 
+    @Timed(OPERATION_TIMER)
+    @Transactional
     public Ticket rateTicket(Long id, Integer rating, String feedback, User user) {
+        return rateTicket(id, rating, feedback, user, null);
+    }
+
+    @Timed(OPERATION_TIMER)
+    @Transactional
+    public Ticket rateTicket(Long id, Integer rating, String feedback, User user, Long expectedVersion) {
         return ticketRepository.findById(id)
                 .map(ticket -> {
+                    checkVersion(ticket, expectedVersion);
                     if (!ticket.getCreator().equals(user)) {
                         throw new RuntimeException("Only ticket creator can rate the ticket");
                     }
@@ -104,16 +246,198 @@ public class TicketService {
                 .orElseThrow(() -> new RuntimeException("Ticket not found with id " + id));
     }
 
-    public List<Ticket> searchTickets(Status status, Priority priority, Long assigneeId, Long creatorId, String search) {
-        return ticketRepository.findTicketsWithFilters(status, priority, assigneeId, creatorId, search != null ? search : "");
+    // The version the client last saw (If-Match); the @Version check at flush covers races after this point
+    private static void checkVersion(Ticket ticket, Long expectedVersion) {
+        if (expectedVersion != null && ticket.getVersion() != expectedVersion) {
+            throw new ObjectOptimisticLockingFailureException(Ticket.class, ticket.getId());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<TicketSummary> searchTickets(Status status, Priority priority, Long assigneeId, Long creatorId, String search, int page, int size) {
+        int limit = clampPageSize(size);
+        String query = toPrefixTsQuery(search);
+        return timeSearch("all", query != null, status, priority, assigneeId, creatorId, () -> {
+            if (query == null) {
+                return ticketRepository.findTicketsWithFilters(status, priority, assigneeId, creatorId, PageRequest.of(Math.max(page, 0), limit));
+            }
+            List<Long> ids = ticketRepository.searchTicketIds(query, nameOf(status), nameOf(priority), assigneeId, creatorId,
+                    limit, Math.max(page, 0) * limit);
+            return loadInOrder(ids);
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public List<TicketSummary> searchUserTickets(User user, Status status, Priority priority, String search, int page, int size) {
+        int limit = clampPageSize(size);
+        String query = toPrefixTsQuery(search);
+        return timeSearch("own", query != null, status, priority, null, null, () -> {
+            if (query == null) {
+                return ticketRepository.findUserTicketsWithFilters(user, status, priority, PageRequest.of(Math.max(page, 0), limit));
+            }
+            List<Long> ids = ticketRepository.searchTicketIds(query, nameOf(status), nameOf(priority), null, user.getId(),
+                    limit, Math.max(page, 0) * limit);
+            return loadInOrder(ids);
+        });
+    }
+
+    // Search latency by scope, full-text or not, and which filters were set (at most 64 series)
+    private <T> T timeSearch(String scope, boolean fullText, Status status, Priority priority, Long assigneeId, Long creatorId,
+                             Supplier<T> search) {
+        StringJoiner filters = new StringJoiner("+");
+        if (status != null) filters.add("status");
+        if (priority != null) filters.add("priority");
+        if (assigneeId != null) filters.add("assignee");
+        if (creatorId != null) filters.add("creator");
+        return meterRegistry.timer("tickets.search",
+                "scope", scope,
+                "fulltext", String.valueOf(fullText),
+                "filters", filters.length() > 0 ? filters.toString() : "none").record(search);
     }
 
-    public List<Ticket> searchUserTickets(User user, Status status, Priority priority, String search) {
-        return ticketRepository.findUserTicketsWithFilters(user, status, priority, search != null ? search : "");
+    // Turns free text into an AND of prefix terms ("prin jam" -> "prin:* & jam:*"), dropping tsquery operators
+    private static String toPrefixTsQuery(String search) {
+        if (search == null) {
+            return null;
+        }
+        StringJoiner query = new StringJoiner(" & ");
+        for (String term : search.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (!term.isEmpty()) {
+                query.add(term + ":*");
+            }
+        }
+        return query.length() > 0 ? query.toString() : null;
     }
 
+    private static String nameOf(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+
+    // Keeps the relevance order of the id query
+    private List<TicketSummary> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, TicketSummary> byId = new HashMap<>();
+        for (TicketSummary ticket : ticketRepository.findSummariesByIdIn(ids)) {
+            byId.put(ticket.getId(), ticket);
+        }
+        List<TicketSummary> tickets = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            TicketSummary ticket = byId.get(id);
+            if (ticket != null) {
+                tickets.add(ticket);
+            }
+        }
+        return tickets;
+    }
+
+    @Timed(OPERATION_TIMER)
+    @Transactional
     public void deleteTicket(Long id) {
-        ticketRepository.deleteById(id);
+        ticketRepository.findById(id).ifPresent(ticket -> {
+            // Leaves a tombstone so delta sync can tell clients the ticket is gone
+            ticketTombstoneRepository.recordDeleted(List.of(id), LocalDateTime.now());
+            ticketRepository.delete(ticket);
+            dashboardStatsService.ticketDeleted(ticket.getStatus(), ticket.getPriority());
+        });
+    }
+
+    /**
+     * Moves every listed ticket to {@code status} with one UPDATE. Tickets already in that status
+     * and unknown ids are skipped. Returns the number of tickets changed.
+     */
+    @Timed(OPERATION_TIMER)
+    @Transactional
+    public int bulkUpdateStatus(List<Long> ticketIds, Status status, User updatedBy) {
+        List<Long> ids = distinct(ticketIds);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Map<Status, Long> byOldStatus = new HashMap<>();
+        List<Long> changed = new ArrayList<>();
+        for (Object[] row : ticketRepository.findStatusAndPriorityByIdIn(ids)) {
+            if (row[1] != status) {
+                changed.add((Long) row[0]);
+                byOldStatus.merge((Status) row[1], 1L, Long::sum);
+            }
+        }
+        if (changed.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int updated = ticketRepository.updateStatusByIdIn(changed, status, now, status == Status.RESOLVED ? now : null);
+        ticketEventService.bulkStatusChanged(changed, status, updatedBy);
+        dashboardStatsService.ticketsStatusChanged(byOldStatus, status);
+        return updated;
+    }
+
+    /**
+     * Assigns every listed ticket to {@code assignee} with one UPDATE, moving OPEN tickets to
+     * IN_PROGRESS as {@link #assignTicket} does. Returns the number of tickets changed.
+     */
+    @Timed(OPERATION_TIMER)
+    @Transactional
+    public int bulkAssign(List<Long> ticketIds, User assignee, User assignedBy) {
+        List<Long> ids = distinct(ticketIds);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Long> found = new ArrayList<>();
+        long opened = 0;
+        for (Object[] row : ticketRepository.findStatusAndPriorityByIdIn(ids)) {
+            found.add((Long) row[0]);
+            if (row[1] == Status.OPEN) {
+                opened++;
+            }
+        }
+        if (found.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        ticketScopeExitRepository.recordReassigned(found, assignee != null ? assignee.getId() : null, now);
+        int updated = ticketRepository.assignByIdIn(found, assignee, now);
+        ticketEventService.bulkAssigned(found, assignee, assignedBy);
+        if (opened > 0) {
+            dashboardStatsService.ticketsStatusChanged(Map.of(Status.OPEN, opened), Status.IN_PROGRESS);
+        }
+        return updated;
+    }
+
+    // Tombstones, comments and attachment rows go first; bulk deletes do not cascade
+    @Timed(OPERATION_TIMER)
+    @Transactional
+    public int bulkDelete(List<Long> ticketIds) {
+        List<Long> ids = distinct(ticketIds);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Map<Status, Long> byStatus = new HashMap<>();
+        Map<Priority, Long> byPriority = new HashMap<>();
+        List<Long> found = new ArrayList<>();
+        for (Object[] row : ticketRepository.findStatusAndPriorityByIdIn(ids)) {
+            found.add((Long) row[0]);
+            byStatus.merge((Status) row[1], 1L, Long::sum);
+            byPriority.merge((Priority) row[2], 1L, Long::sum);
+        }
+        if (found.isEmpty()) {
+            return 0;
+        }
+
+        ticketTombstoneRepository.recordDeleted(found, LocalDateTime.now());
+        commentRepository.deleteByTicketIdIn(found);
+        attachmentRepository.deleteByTicketIdIn(found);
+        int deleted = ticketRepository.deleteByIdIn(found);
+        dashboardStatsService.ticketsDeleted(byStatus, byPriority);
+        return deleted;
+    }
+
+    private static List<Long> distinct(List<Long> ids) {
+        LinkedHashSet<Long> unique = new LinkedHashSet<>(ids);
+        unique.remove(null);
+        return new ArrayList<>(unique);
     }
 
     public boolean canUserAccessTicket(User user, Ticket ticket) {
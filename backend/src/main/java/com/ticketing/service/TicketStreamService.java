@@ -0,0 +1,261 @@
+package com.ticketing.service;
+
+import com.ticketing.config.VirtualThreads;
+import com.ticketing.dto.TicketStreamEvent;
+import com.ticketing.model.Ticket;
+import com.ticketing.model.TicketEvent;
+import com.ticketing.model.TicketEventType;
+import com.ticketing.model.User;
+import com.ticketing.repository.TicketEventRepository;
+import com.ticketing.repository.TicketRepository;
+import com.ticketing.security.TokenRevocationRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans relayed ticket events out to open SSE streams. The relay thread only filters and offers
+ * events to each subscriber's bounded queue; a small sender pool drains a queue only while it has
+ * something to send, so an idle stream holds no thread. A subscriber whose queue overflows is
+ * disconnected rather than allowed to slow everyone else down; the client reconnects and reloads.
+ * A subscriber keeps the principal it connected with, so its stream is closed once the user's tokens
+ * are revoked (role change, disabling or deletion) and the client has to reconnect as who they are now.
+ *
+ * Any instance may relay an event, so the relay only announces it ({@link TicketEventNotifier}) and
+ * every instance, through {@link TicketEventNotificationListener}, publishes it to its own streams.
+ */
+@Service
+public class TicketStreamService {
+    private static final Logger logger = LoggerFactory.getLogger(TicketStreamService.class);
+
+    // Queued in place of an event to send a keep-alive comment
+    private static final TicketStreamEvent HEARTBEAT = new TicketStreamEvent(null, null, null, null, null, null, null, null);
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketEventRepository ticketEventRepository;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${stream.subscriber-buffer:256}")
+    private int subscriberBuffer;
+
+    @Value("${stream.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${stream.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private ExecutorService sender;
+
+    @PostConstruct
+    public void start() {
+        Gauge.builder("tickets.stream.subscribers", subscribers, Set::size).register(meterRegistry);
+        if (virtualThreads && VirtualThreads.isSupported()) {
+            sender = VirtualThreads.newThreadPerTaskExecutor("ticket-stream-");
+        } else {
+            sender = Executors.newFixedThreadPool(senderThreads, r -> {
+                Thread thread = new Thread(r, "ticket-stream");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        sender.shutdownNow();
+    }
+
+    public SseEmitter subscribe(User user) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Too many open ticket streams");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(user, emitter, subscriberBuffer);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(error -> close(subscriber));
+        subscribers.add(subscriber);
+        // Sends the response headers straight away instead of on the first event
+        deliver(subscriber, HEARTBEAT);
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    // Reads the primary: the event has only just been committed there
+    @Transactional
+    public void publish(Long eventId) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        TicketEvent event = ticketEventRepository.findById(eventId).orElse(null);
+        if (event != null) {
+            fanOut(event);
+        }
+    }
+
+    private void fanOut(TicketEvent event) {
+        if (event.getType() == TicketEventType.BULK_STATUS_CHANGED || event.getType() == TicketEventType.BULK_ASSIGNED) {
+            handleBulk(event);
+            return;
+        }
+
+        Ticket ticket = ticketRepository.findById(event.getTicketId()).orElse(null);
+        if (ticket == null) {
+            return;
+        }
+        TicketStreamEvent payload = new TicketStreamEvent(event.getId(), event.getType().name(), ticket.getId(), null,
+                event.getNewStatus(), event.getNewAssigneeId(), event.getCommentId(), event.getCreatedAt());
+        for (Subscriber subscriber : subscribers) {
+            if (closeIfRevoked(subscriber)) {
+                continue;
+            }
+            // A previous assignee is told about the reassignment so the ticket can leave their list
+            if (ticketService.canUserAccessTicket(subscriber.user, ticket)
+                    || Objects.equals(subscriber.user.getId(), event.getOldAssigneeId())) {
+                deliver(subscriber, payload);
+            }
+        }
+    }
+
+    // One event per subscriber listing the tickets it may see, rather than one per ticket
+    private void handleBulk(TicketEvent event) {
+        List<Ticket> tickets = ticketRepository.findWithUsersByIdIn(TicketEventService.parseTicketIds(event.getTicketIds()));
+        for (Subscriber subscriber : subscribers) {
+            if (closeIfRevoked(subscriber)) {
+                continue;
+            }
+            List<Long> visible = new ArrayList<>();
+            for (Ticket ticket : tickets) {
+                if (ticketService.canUserAccessTicket(subscriber.user, ticket)) {
+                    visible.add(ticket.getId());
+                }
+            }
+            if (!visible.isEmpty()) {
+                deliver(subscriber, new TicketStreamEvent(event.getId(), event.getType().name(), null, visible,
+                        event.getNewStatus(), event.getNewAssigneeId(), null, event.getCreatedAt()));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${stream.heartbeat-interval-ms:25000}")
+    public void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            if (!closeIfRevoked(subscriber)) {
+                deliver(subscriber, HEARTBEAT);
+            }
+        }
+    }
+
+    private boolean closeIfRevoked(Subscriber subscriber) {
+        if (!tokenRevocationRegistry.isRevoked(subscriber.user.getId(), subscriber.connectedAt)) {
+            return false;
+        }
+        logger.debug("Closing ticket stream of user {} after token revocation", subscriber.user.getUsername());
+        close(subscriber);
+        return true;
+    }
+
+    private void deliver(Subscriber subscriber, TicketStreamEvent payload) {
+        if (!subscriber.queue.offer(payload)) {
+            logger.debug("Ticket stream buffer full for user {}, disconnecting", subscriber.user.getUsername());
+            close(subscriber);
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            TicketStreamEvent payload = subscriber.queue.poll();
+            if (payload == null) {
+                subscriber.draining.set(false);
+                // An event offered after the poll but before the flag was cleared still needs sending
+                if (subscriber.queue.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                if (payload == HEARTBEAT) {
+                    subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(String.valueOf(payload.getId()))
+                            .name(payload.getType())
+                            .data(payload, MediaType.APPLICATION_JSON));
+                }
+            } catch (Exception e) {
+                close(subscriber);
+                return;
+            }
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.queue.clear();
+            subscriber.emitter.complete();
+        }
+    }
+
+    private static class Subscriber {
+        private final User user;
+        private final Date connectedAt = new Date();
+        private final SseEmitter emitter;
+        private final BlockingQueue<TicketStreamEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(User user, SseEmitter emitter, int bufferSize) {
+            this.user = user;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.ticketing.service;
+
+import com.ticketing.dto.TicketChanges;
+import com.ticketing.dto.TicketSummary;
+import com.ticketing.dto.TicketSyncToken;
+import com.ticketing.model.Role;
+import com.ticketing.model.User;
+import com.ticketing.repository.TicketRepository;
+import com.ticketing.repository.TicketScopeExitRepository;
+import com.ticketing.repository.TicketTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Delta sync: the tickets a user can see that changed after a {@link TicketSyncToken}, plus the ids
+ * of tickets deleted in the same span and, for support agents, of tickets reassigned away from them,
+ * so clients refresh in O(changes) instead of reloading lists.
+ *
+ * updatedAt is stamped before commit and reads may come from a lagging replica, so a change can
+ * become visible with a timestamp slightly in the past. The final token of a sync therefore trails
+ * the clock by {@code sync.settle-ms}; changes inside that window are sent again on the next call,
+ * and clients apply them idempotently.
+ */
+@Service
+public class TicketSyncService {
+    private static final Logger logger = LoggerFactory.getLogger(TicketSyncService.class);
+
+    public static final int DEFAULT_PAGE_SIZE = 200;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketTombstoneRepository ticketTombstoneRepository;
+
+    @Autowired
+    private TicketScopeExitRepository ticketScopeExitRepository;
+
+    @Value("${sync.settle-ms:10000}")
+    private long settleMs;
+
+    @Value("${sync.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
+
+    // Tombstones older than this may be purged, so a token from before it can no longer be caught up
+    public boolean isExpired(TicketSyncToken since) {
+        return since.getUpdatedAt().isBefore(LocalDateTime.now().minusDays(tombstoneRetentionDays));
+    }
+
+    @Transactional(readOnly = true)
+    public TicketChanges getChanges(User user, TicketSyncToken since, int size) {
+        int limit = size < 1 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest page = PageRequest.ofSize(limit + 1);
+
+        List<TicketSummary> rows;
+        if (user.getRole() == Role.ADMIN) {
+            rows = ticketRepository.findChangedAfter(since.getUpdatedAt(), since.getId(), page);
+        } else if (user.getRole() == Role.SUPPORT_AGENT) {
+            rows = ticketRepository.findChangedByCreatorOrAssigneeAfter(user, since.getUpdatedAt(), since.getId(), page);
+        } else {
+            rows = ticketRepository.findChangedByCreatorAfter(user, since.getUpdatedAt(), since.getId(), page);
+        }
+
+        boolean hasMore = rows.size() > limit;
+        List<TicketSummary> changed = hasMore ? rows.subList(0, limit) : rows;
+        TicketSyncToken next;
+        LocalDateTime deletedUpTo;
+        if (hasMore) {
+            next = TicketSyncToken.of(changed.get(limit - 1));
+            deletedUpTo = next.getUpdatedAt();
+        } else {
+            TicketSyncToken settled = new TicketSyncToken(now.minusNanos(settleMs * 1_000_000), 0L);
+            next = settled.isAfter(since) ? settled : since;
+            deletedUpTo = now;
+        }
+
+        Long userId = user.getRole() == Role.ADMIN ? null : user.getId();
+        List<Long> deleted = ticketTombstoneRepository.findDeletedTicketIds(since.getUpdatedAt(), deletedUpTo,
+                userId, user.getRole() == Role.SUPPORT_AGENT);
+        List<Long> removed = user.getRole() == Role.SUPPORT_AGENT
+                ? removedFromScope(user, since.getUpdatedAt(), deletedUpTo, changed)
+                : List.of();
+        return new TicketChanges(changed, deleted, removed, next.encode(), hasMore);
+    }
+
+    // A ticket reassigned back to the user since it left comes back in changed instead
+    private List<Long> removedFromScope(User user, LocalDateTime from, LocalDateTime to, List<TicketSummary> changed) {
+        Set<Long> removed = new LinkedHashSet<>(ticketScopeExitRepository.findExitedTicketIds(user.getId(), from, to));
+        for (TicketSummary ticket : changed) {
+            removed.remove(ticket.getId());
+        }
+        return new ArrayList<>(removed);
+    }
+
+    @Scheduled(cron = "${sync.tombstone-cleanup-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeTombstones() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(tombstoneRetentionDays);
+        int deleted = ticketTombstoneRepository.deleteDeletedBefore(cutoff);
+        int exits = ticketScopeExitRepository.deleteExitedBefore(cutoff);
+        if (deleted > 0 || exits > 0) {
+            logger.info("Purged {} ticket tombstones and {} scope exits", deleted, exits);
+        }
+    }
+}
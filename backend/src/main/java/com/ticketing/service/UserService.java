@@ -1,12 +1,16 @@
 package com.ticketing.service;
 
 import com.ticketing.dto.SignupRequest;
+import com.ticketing.dto.UserView;
 import com.ticketing.model.Role;
 import com.ticketing.model.User;
 import com.ticketing.repository.UserRepository;
+import com.ticketing.security.TokenRevocationRegistry;
+import com.ticketing.security.UserPrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -19,6 +23,16 @@ public class UserService {
     @Autowired
     private PasswordEncoder encoder;
 
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @Autowired
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Transactional
     public User createUser(SignupRequest signUpRequest) {
         User user = new User(signUpRequest.getUsername(),
                 signUpRequest.getEmail(),
@@ -27,50 +41,70 @@ public class UserService {
                 signUpRequest.getLastName(),
                 signUpRequest.getRole());
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        dashboardStatsService.userCreated(savedUser.getRole());
+        return savedUser;
     }
 
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<UserView> getAllUsers() {
+        return userRepository.findAllViews();
     }
 
+    // Lookups used for validation before a write stay on the primary
+    @Transactional
     public Optional<User> getUserById(Long id) {
         return userRepository.findById(id);
     }
 
+    @Transactional
     public Optional<User> getUserByUsername(String username) {
         return userRepository.findByUsername(username);
     }
 
+    @Transactional(readOnly = true)
     public List<User> getUsersByRole(Role role) {
         return userRepository.findByRole(role);
     }
 
-    public List<User> getActiveSupportAgents() {
-        return userRepository.findActiveUsersByRole(Role.SUPPORT_AGENT);
+    @Transactional(readOnly = true)
+    public List<UserView> getActiveSupportAgents() {
+        return userRepository.findActiveUserViewsByRole(Role.SUPPORT_AGENT);
     }
 
+    @Transactional
     public User updateUser(Long id, User updatedUser) {
         return userRepository.findById(id)
                 .map(user -> {
+                    dashboardStatsService.userRoleChanged(user.getRole(), updatedUser.getRole());
                     user.setFirstName(updatedUser.getFirstName());
                     user.setLastName(updatedUser.getLastName());
                     user.setEmail(updatedUser.getEmail());
                     user.setRole(updatedUser.getRole());
                     user.setEnabled(updatedUser.isEnabled());
+                    userPrincipalCache.invalidate(user.getUsername());
+                    tokenRevocationRegistry.revoke(user.getId());
                     return userRepository.save(user);
                 })
                 .orElseThrow(() -> new RuntimeException("User not found with id " + id));
     }
 
+    @Transactional
     public void deleteUser(Long id) {
-        userRepository.deleteById(id);
+        userRepository.findById(id).ifPresent(user -> {
+            userRepository.delete(user);
+            dashboardStatsService.userDeleted(user.getRole());
+            userPrincipalCache.invalidate(user.getUsername());
+            tokenRevocationRegistry.revoke(user.getId());
+        });
     }
 
+    @Transactional
     public boolean existsByUsername(String username) {
         return userRepository.existsByUsername(username);
     }
 
+    @Transactional
     public boolean existsByEmail(String email) {
         return userRepository.existsByEmail(email);
     }
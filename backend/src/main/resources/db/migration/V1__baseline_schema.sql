@@ -0,0 +1,132 @@
+-- Schema as previously created by Hibernate's ddl-auto: update plus the startup initializers
+-- (SearchIndexInitializer, TicketEventSchemaInitializer, IdSequenceInitializer). Every statement is
+-- idempotent: databases created that way are baselined at version 0 and run this script too, which
+-- fills in whatever their schema is missing. Constraint names match the ones Hibernate generated.
+
+-- Ids come from pooled sequences; the step must match allocationSize on the entities
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS tickets_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users (
+    id bigint NOT NULL DEFAULT nextval('users_seq'),
+    username varchar(50) UNIQUE,
+    email varchar(100) UNIQUE,
+    password varchar(100),
+    firstName varchar(50),
+    lastName varchar(50),
+    role varchar(255) CHECK (role IN ('USER', 'SUPPORT_AGENT', 'ADMIN')),
+    enabled boolean NOT NULL,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS tickets (
+    id bigint NOT NULL DEFAULT nextval('tickets_seq'),
+    subject varchar(200),
+    description TEXT,
+    priority varchar(255) CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH', 'URGENT')),
+    status varchar(255) CHECK (status IN ('OPEN', 'IN_PROGRESS', 'RESOLVED', 'CLOSED')),
+    creator_id bigint NOT NULL,
+    assignee_id bigint,
+    rating integer,
+    feedback TEXT,
+    version bigint DEFAULT 0 NOT NULL,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    resolved_at timestamp(6),
+    PRIMARY KEY (id),
+    CONSTRAINT FKqmclo6c7oa8oxjc4crtpeannk FOREIGN KEY (creator_id) REFERENCES users,
+    CONSTRAINT FKdl3k2pm5bflf01mdp2y28cgxx FOREIGN KEY (assignee_id) REFERENCES users
+);
+
+CREATE TABLE IF NOT EXISTS comments (
+    id bigint NOT NULL DEFAULT nextval('comments_seq'),
+    content TEXT,
+    ticket_id bigint NOT NULL,
+    author_id bigint NOT NULL,
+    created_at timestamp(6),
+    PRIMARY KEY (id),
+    CONSTRAINT FKj7vc0aigr2m5mew52v7ddt4fo FOREIGN KEY (ticket_id) REFERENCES tickets,
+    CONSTRAINT FKn2na60ukhs76ibtpt9burkm27 FOREIGN KEY (author_id) REFERENCES users
+);
+
+CREATE TABLE IF NOT EXISTS attachments (
+    id bigserial NOT NULL,
+    fileName varchar(255),
+    filePath varchar(255),
+    contentType varchar(255),
+    fileSize bigint,
+    content_hash varchar(64),
+    ticket_id bigint NOT NULL,
+    uploaded_by bigint NOT NULL,
+    uploaded_at timestamp(6),
+    PRIMARY KEY (id),
+    CONSTRAINT FKay82o4g9v0hkdlh20yllwvutc FOREIGN KEY (ticket_id) REFERENCES tickets,
+    CONSTRAINT FKl3qeaqe1mykgrd4ltgmqthdkp FOREIGN KEY (uploaded_by) REFERENCES users
+);
+
+CREATE TABLE IF NOT EXISTS ticket_events (
+    id bigserial NOT NULL,
+    type varchar(255) NOT NULL,
+    ticket_id bigint NOT NULL,
+    comment_id bigint,
+    actor_id bigint,
+    old_status varchar(255) CHECK (old_status IN ('OPEN', 'IN_PROGRESS', 'RESOLVED', 'CLOSED')),
+    new_status varchar(255) CHECK (new_status IN ('OPEN', 'IN_PROGRESS', 'RESOLVED', 'CLOSED')),
+    old_assignee_id bigint,
+    new_assignee_id bigint,
+    ticket_ids TEXT,
+    attempts integer NOT NULL,
+    last_error TEXT,
+    created_at timestamp(6),
+    processed_at timestamp(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS ticket_tombstones (
+    ticket_id bigint NOT NULL,
+    creator_id bigint,
+    assignee_id bigint,
+    deleted_at timestamp(6) NOT NULL,
+    PRIMARY KEY (ticket_id)
+);
+
+CREATE TABLE IF NOT EXISTS token_revocations (
+    id bigserial NOT NULL,
+    user_id bigint NOT NULL,
+    revoked_at timestamp(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Columns added after the first tables were created
+ALTER TABLE tickets ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
+ALTER TABLE attachments ADD COLUMN IF NOT EXISTS content_hash varchar(64);
+
+-- Hibernate created this constraint from the enum values of the day and never widened it
+ALTER TABLE ticket_events DROP CONSTRAINT IF EXISTS ticket_events_type_check;
+ALTER TABLE ticket_events ADD CONSTRAINT ticket_events_type_check CHECK (type IN (
+    'TICKET_CREATED', 'STATUS_CHANGED', 'TICKET_ASSIGNED', 'COMMENT_ADDED', 'BULK_STATUS_CHANGED', 'BULK_ASSIGNED'));
+
+-- Tables created with identity ids: start the sequences above every id issued so far and let rows
+-- inserted outside Hibernate (COPY imports) draw from them too
+SELECT setval('users_seq', GREATEST(MAX(id) + 50, (SELECT last_value FROM users_seq))) FROM users HAVING COUNT(*) > 0;
+SELECT setval('tickets_seq', GREATEST(MAX(id) + 50, (SELECT last_value FROM tickets_seq))) FROM tickets HAVING COUNT(*) > 0;
+SELECT setval('comments_seq', GREATEST(MAX(id) + 50, (SELECT last_value FROM comments_seq))) FROM comments HAVING COUNT(*) > 0;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+ALTER TABLE tickets ALTER COLUMN id SET DEFAULT nextval('tickets_seq');
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT nextval('comments_seq');
+
+-- Full-text search: generated tsvector columns stay in sync with every write without application code
+ALTER TABLE tickets ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english'::regconfig, coalesce(subject, '')), 'A') ||
+    setweight(to_tsvector('english'::regconfig, coalesce(description, '')), 'B')) STORED;
+CREATE INDEX IF NOT EXISTS idx_tickets_search_vector ON tickets USING GIN (search_vector);
+
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    to_tsvector('english'::regconfig, coalesce(content, ''))) STORED;
+CREATE INDEX IF NOT EXISTS idx_comments_search_vector ON comments USING GIN (search_vector);
+
+CREATE INDEX IF NOT EXISTS idx_tickets_updated_at ON tickets (updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_ticket_tombstones_deleted_at ON ticket_tombstones (deleted_at);
@@ -0,0 +1,26 @@
+-- Composite indexes for the repository queries; each is named after the query shape it serves.
+-- Built CONCURRENTLY so existing tables stay writable, which makes Flyway run this script outside
+-- a transaction. If a build fails, drop the INVALID index it leaves behind before retrying.
+
+-- Keyset pages ordered by (created_at DESC, id DESC): all tickets, a creator's, an assignee's
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tickets_created_at ON tickets (created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tickets_creator_created_at ON tickets (creator_id, created_at, id);
+-- An agent's queue, optionally narrowed to one status
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tickets_assignee_status_created_at ON tickets (assignee_id, status, created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tickets_assignee_created_at ON tickets (assignee_id, created_at, id);
+-- Status and priority filters on the ticket list
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tickets_status_created_at ON tickets (status, created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tickets_priority_created_at ON tickets (priority, created_at, id);
+
+-- A ticket's comments and attachments in display order; also serves the bulk deletes by ticket
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_comments_ticket_created_at ON comments (ticket_id, created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_attachments_ticket_uploaded_at ON attachments (ticket_id, uploaded_at, id);
+
+-- Assignable agents by role
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_role_enabled ON users (role, enabled, id);
+
+-- Outbox relay: only unprocessed events are polled, so the partial index stays small as processed rows accumulate
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_ticket_events_unprocessed ON ticket_events (id) WHERE processed_at IS NULL;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_ticket_events_processed_at ON ticket_events (processed_at);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_token_revocations_revoked_at ON token_revocations (revoked_at);
@@ -0,0 +1,12 @@
+-- A ticket reassigned away from a support agent leaves their delta sync scope without being
+-- deleted; each row tells that agent's clients to drop their copy
+CREATE TABLE IF NOT EXISTS ticket_scope_exits (
+    id bigserial NOT NULL,
+    ticket_id bigint NOT NULL,
+    user_id bigint NOT NULL,
+    exited_at timestamp(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_ticket_scope_exits_user_exited_at ON ticket_scope_exits (user_id, exited_at);
+CREATE INDEX IF NOT EXISTS idx_ticket_scope_exits_exited_at ON ticket_scope_exits (exited_at);
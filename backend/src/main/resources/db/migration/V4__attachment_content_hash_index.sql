@@ -0,0 +1,3 @@
+-- The attachment sweep looks up which stored hashes are still referenced. Built CONCURRENTLY like
+-- V2, so Flyway runs this script outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_attachments_content_hash ON attachments (content_hash);
@@ -0,0 +1,39 @@
+package com.ticketing;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Boots the whole application against an embedded Postgres, migrated by Flyway like a real
+ * database. The server is started once per test JVM and shared by every subclass.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public abstract class PostgresIntegrationTest {
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    @DynamicPropertySource
+    static void databaseProperties(DynamicPropertyRegistry registry) {
+        registry.add("DB_HOST", () -> "localhost");
+        registry.add("DB_PORT", POSTGRES::getPort);
+        registry.add("DB_NAME", () -> "postgres");
+        registry.add("DB_USERNAME", () -> "postgres");
+        registry.add("DB_PASSWORD", () -> "postgres");
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start embedded Postgres", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.ticketing.config;
+
+import com.ticketing.PostgresIntegrationTest;
+import com.ticketing.model.Role;
+import com.ticketing.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Without a separate management port, actuator shares the public port, so the Prometheus scrape
+ * must not be open there.
+ */
+class ActuatorSecurityTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheusRequiresAdminOnApplicationPort() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(authentication(as(Role.USER)))).andExpect(status().isForbidden());
+    }
+
+    private static UsernamePasswordAuthenticationToken as(Role role) {
+        User user = new User("actuator", "actuator@ticketing.test", "{noop}password", "Actuator", "User", role);
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+}
@@ -0,0 +1,57 @@
+package com.ticketing.config;
+
+import com.ticketing.PostgresIntegrationTest;
+import com.ticketing.model.Priority;
+import com.ticketing.model.Role;
+import com.ticketing.model.Ticket;
+import com.ticketing.model.User;
+import com.ticketing.repository.TicketRepository;
+import com.ticketing.repository.UserRepository;
+import com.ticketing.service.EntityCacheService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The embedded database stands in for the replica as well, which is enough to check that read-only
+ * transactions leave the second-level cache alone while read-write ones fill it.
+ */
+@TestPropertySource(properties = "database.replica.url=jdbc:postgresql://${DB_HOST}:${DB_PORT}/${DB_NAME}")
+class ReplicaCacheModeTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void readOnlyTransactionsDoNotPopulateSecondLevelCache() {
+        User creator = userRepository.save(new User("replicacache", "replicacache@ticketing.test", "{noop}password",
+                "Replica", "Cache", Role.USER));
+        Long id = ticketRepository.save(new Ticket("Monitor", "Flickers", Priority.LOW, creator)).getId();
+        entityCacheService.evictAll();
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> ticketRepository.findById(id).orElseThrow());
+        assertThat(entityManagerFactory.getCache().contains(Ticket.class, id)).isFalse();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> ticketRepository.findById(id).orElseThrow());
+        assertThat(entityManagerFactory.getCache().contains(Ticket.class, id)).isTrue();
+    }
+}
@@ -0,0 +1,106 @@
+package com.ticketing.controller;
+
+import com.ticketing.PostgresIntegrationTest;
+import com.ticketing.config.SqlStatementCounter;
+import com.ticketing.model.Comment;
+import com.ticketing.model.Priority;
+import com.ticketing.model.Role;
+import com.ticketing.model.Ticket;
+import com.ticketing.model.User;
+import com.ticketing.repository.CommentRepository;
+import com.ticketing.repository.TicketRepository;
+import com.ticketing.repository.UserRepository;
+import com.ticketing.service.EntityCacheService;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the ticket read endpoints against N+1 queries: each one must run the same number of SQL
+ * statements however many comments, by however many authors, the ticket has. Caches are emptied
+ * before every request, so the counts are the cold-cache worst case; the principal is set directly,
+ * so authentication lookups are not included.
+ */
+class TicketQueryCountTest extends PostgresIntegrationTest {
+    // The ticket joined with its creator and assignee
+    private static final int TICKET_DETAIL_STATEMENTS = 1;
+    // The ticket with its users for the access check, then comments joined with their authors
+    private static final int TICKET_COMMENTS_STATEMENTS = 2;
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @ParameterizedTest(name = "{0} comments")
+    @ValueSource(ints = {1, 5, 25})
+    void ticketDetailRunsFixedNumberOfStatements(int comments) throws Exception {
+        Ticket ticket = ticketWithComments(comments);
+
+        int statements = countStatements(get("/api/tickets/{id}", ticket.getId()), ticket.getCreator());
+
+        assertThat(statements).isEqualTo(TICKET_DETAIL_STATEMENTS);
+    }
+
+    @ParameterizedTest(name = "{0} comments")
+    @ValueSource(ints = {1, 5, 25})
+    void ticketCommentsRunFixedNumberOfStatements(int comments) throws Exception {
+        Ticket ticket = ticketWithComments(comments);
+
+        int statements = countStatements(get("/api/tickets/{id}/comments", ticket.getId()), ticket.getCreator());
+
+        assertThat(statements).isEqualTo(TICKET_COMMENTS_STATEMENTS);
+    }
+
+    private int countStatements(MockHttpServletRequestBuilder request, User principal) throws Exception {
+        entityCacheService.evictAll();
+        SqlStatementCounter.reset();
+        mockMvc.perform(request.with(authentication(
+                        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isNotEmpty());
+        return SqlStatementCounter.get();
+    }
+
+    // Every comment has its own author, so a lazy author lookup per comment would show up in the count
+    private Ticket ticketWithComments(int comments) {
+        User creator = userRepository.save(newUser(Role.USER));
+        User assignee = userRepository.save(newUser(Role.SUPPORT_AGENT));
+        Ticket ticket = new Ticket("Printer jam", "Paper stuck in tray 2", Priority.MEDIUM, creator);
+        ticket.setAssignee(assignee);
+        ticket = ticketRepository.save(ticket);
+        for (int i = 0; i < comments; i++) {
+            User author = userRepository.save(newUser(Role.SUPPORT_AGENT));
+            commentRepository.save(new Comment("Update " + i, ticket, author));
+        }
+        return ticket;
+    }
+
+    private static User newUser(Role role) {
+        String name = "querycount" + USERS.incrementAndGet();
+        return new User(name, name + "@ticketing.test", "{noop}password", "Query", "Count", role);
+    }
+}
@@ -0,0 +1,36 @@
+package com.ticketing.security;
+
+import com.ticketing.PostgresIntegrationTest;
+import com.ticketing.model.TokenRevocation;
+import com.ticketing.repository.TokenRevocationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationRegistryTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Autowired
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    // Another instance stamped the row, then committed it after this instance had already polled past that time
+    @Test
+    void picksUpRevocationCommittedAfterLaterPoll() {
+        long userId = 424242;
+        LocalDateTime stampedAt = LocalDateTime.now(ZoneOffset.UTC).minusSeconds(20);
+        tokenRevocationRegistry.refresh();
+
+        tokenRevocationRepository.save(new TokenRevocation(userId, stampedAt));
+        tokenRevocationRegistry.refresh();
+
+        Date issuedBefore = Date.from(stampedAt.minusSeconds(60).toInstant(ZoneOffset.UTC));
+        assertThat(tokenRevocationRegistry.isRevoked(userId, issuedBefore)).isTrue();
+    }
+}
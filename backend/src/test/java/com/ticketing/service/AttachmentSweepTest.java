@@ -0,0 +1,72 @@
+package com.ticketing.service;
+
+import com.ticketing.PostgresIntegrationTest;
+import com.ticketing.model.Attachment;
+import com.ticketing.model.Priority;
+import com.ticketing.model.Role;
+import com.ticketing.model.Ticket;
+import com.ticketing.model.User;
+import com.ticketing.repository.TicketRepository;
+import com.ticketing.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Attachment content is shared by hash, so deleting a ticket must leave content other tickets
+ * still reference, and the sweep must reclaim what nothing references any more.
+ */
+class AttachmentSweepTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private AttachmentService attachmentService;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Test
+    void deletedTicketsUnsharedContentIsSwept() throws Exception {
+        User creator = userRepository.save(new User("sweep", "sweep@ticketing.test", "{noop}password",
+                "Sweep", "User", Role.USER));
+        Ticket deleted = ticketRepository.save(new Ticket("Keyboard", "Sticky keys", Priority.LOW, creator));
+        Ticket kept = ticketRepository.save(new Ticket("Mouse", "Double clicks", Priority.LOW, creator));
+        String shared = UUID.randomUUID().toString();
+        Path unsharedFile = stored(attachmentService.addAttachment(deleted, file(UUID.randomUUID().toString()), creator));
+        Path sharedFile = stored(attachmentService.addAttachment(deleted, file(shared), creator));
+        attachmentService.addAttachment(kept, file(shared), creator);
+        // Past the grace period, as if uploaded long ago
+        FileTime old = FileTime.from(Instant.now().minus(Duration.ofDays(7)));
+        Files.setLastModifiedTime(unsharedFile, old);
+        Files.setLastModifiedTime(sharedFile, old);
+
+        ticketService.deleteTicket(deleted.getId());
+        attachmentService.sweepUnreferencedContent();
+
+        assertThat(unsharedFile).doesNotExist();
+        assertThat(sharedFile).exists();
+    }
+
+    private Path stored(Attachment attachment) {
+        return attachmentService.resolveFile(attachment);
+    }
+
+    private static MockMultipartFile file(String content) {
+        return new MockMultipartFile("file", "notes.txt", "text/plain", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,193 @@
+package com.ticketing.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the dispatcher against an in-process SMTP server. The mail sender can hold the worker inside
+ * a send, which lets a test line up the queue before the next batch is taken.
+ */
+@SpringBootTest(classes = {EmailDispatcher.class, EmailDispatcherTest.MailConfig.class}, properties = {
+        "notification.email.queue-capacity=5",
+        "notification.email.batch-size=50",
+        "notification.email.offer-timeout-ms=200",
+        "notification.email.max-attempts=5",
+        "notification.email.initial-backoff-ms=100"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class EmailDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private EmailDispatcher emailDispatcher;
+
+    @Autowired
+    private HoldingMailSender mailSender;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void releaseWorker() {
+        mailSender.release();
+    }
+
+    @Test
+    void sendsQueuedMessagesAsOneBatch() throws Exception {
+        mailSender.hold();
+        assertThat(emailDispatcher.enqueue(message(0))).isTrue();
+        mailSender.awaitSending();
+
+        // The worker is inside the first send; these four wait on the queue and leave as one batch
+        for (int i = 1; i <= 4; i++) {
+            assertThat(emailDispatcher.enqueue(message(i))).isTrue();
+        }
+        mailSender.release();
+
+        assertThat(greenMail.waitForIncomingEmail(5000, 5)).isTrue();
+        assertThat(mailSender.batchSizes).containsExactly(1, 4);
+        assertThat(subjects(greenMail.getReceivedMessages()))
+                .containsExactlyInAnyOrder("Ticket #0", "Ticket #1", "Ticket #2", "Ticket #3", "Ticket #4");
+        awaitCondition(() -> messages("sent") == 5);
+    }
+
+    @Test
+    void retriesAfterTransientFailure() throws Exception {
+        greenMail.stop();
+        assertThat(emailDispatcher.enqueue(message(1))).isTrue();
+
+        awaitCondition(() -> messages("retried") >= 1);
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+        greenMail.start();
+
+        assertThat(greenMail.waitForIncomingEmail(5000, 1)).isTrue();
+        assertThat(subjects(greenMail.getReceivedMessages())).containsExactly("Ticket #1");
+        awaitCondition(() -> messages("sent") == 1);
+        assertThat(messages("abandoned")).isZero();
+    }
+
+    @Test
+    void dropsMessageWhenQueueStaysFull() throws Exception {
+        mailSender.hold();
+        assertThat(emailDispatcher.enqueue(message(0))).isTrue();
+        mailSender.awaitSending();
+        for (int i = 1; i <= 5; i++) {
+            assertThat(emailDispatcher.enqueue(message(i))).isTrue();
+        }
+
+        long start = System.nanoTime();
+        boolean accepted = emailDispatcher.enqueue(message(6));
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(accepted).isFalse();
+        assertThat(waitedMs).isGreaterThanOrEqualTo(200);
+        assertThat(messages("dropped")).isEqualTo(1);
+
+        mailSender.release();
+        assertThat(greenMail.waitForIncomingEmail(5000, 6)).isTrue();
+        assertThat(subjects(greenMail.getReceivedMessages())).doesNotContain("Ticket #6");
+        awaitCondition(() -> messages("sent") == 6);
+    }
+
+    private double messages(String result) {
+        return meterRegistry.counter("email.messages", "result", result).count();
+    }
+
+    private static SimpleMailMessage message(int ticket) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("noreply@ticketing.test");
+        message.setTo("user" + ticket + "@ticketing.test");
+        message.setSubject("Ticket #" + ticket);
+        message.setText("Status changed");
+        return message;
+    }
+
+    private static List<String> subjects(MimeMessage[] messages) throws MessagingException {
+        List<String> subjects = new ArrayList<>();
+        for (MimeMessage message : messages) {
+            subjects.add(message.getSubject());
+        }
+        return subjects;
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5 s").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    @TestConfiguration
+    static class MailConfig {
+        @Bean
+        HoldingMailSender mailSender() {
+            HoldingMailSender sender = new HoldingMailSender();
+            sender.setHost("localhost");
+            sender.setPort(ServerSetupTest.SMTP.getPort());
+            return sender;
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    // Records each batch handed over by the dispatcher and can park the worker until released
+    static class HoldingMailSender extends JavaMailSenderImpl {
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        private volatile CountDownLatch held = new CountDownLatch(0);
+        private volatile CountDownLatch sending = new CountDownLatch(1);
+
+        void hold() {
+            held = new CountDownLatch(1);
+            sending = new CountDownLatch(1);
+        }
+
+        void release() {
+            held.countDown();
+        }
+
+        void awaitSending() throws InterruptedException {
+            assertThat(sending.await(5, TimeUnit.SECONDS)).as("worker started sending").isTrue();
+        }
+
+        @Override
+        public void send(SimpleMailMessage... messages) {
+            batchSizes.add(messages.length);
+            sending.countDown();
+            try {
+                held.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.send(messages);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.ticketing.service;
+
+import com.ticketing.PostgresIntegrationTest;
+import com.ticketing.model.TicketEvent;
+import com.ticketing.model.TicketEventType;
+import com.ticketing.repository.TicketEventRepository;
+import com.ticketing.repository.TicketRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A handler that fails inside a repository call marks its transaction rollback-only. That must not
+ * take the rest of the batch, or the failed event's attempt count, down with it.
+ */
+class TicketEventRelayTest extends PostgresIntegrationTest {
+    // Events for this ticket make the failing handler throw
+    private static final Long FAILING_TICKET_ID = -1L;
+
+    @Autowired
+    private TicketEventRelay ticketEventRelay;
+
+    @Autowired
+    private TicketEventRepository ticketEventRepository;
+
+    @Test
+    void handlerFailureInRepositoryCallOnlyAffectsItsEvent() {
+        TicketEvent failing = ticketEventRepository.save(new TicketEvent(TicketEventType.TICKET_CREATED, FAILING_TICKET_ID, null));
+        TicketEvent passing = ticketEventRepository.save(new TicketEvent(TicketEventType.TICKET_CREATED, -2L, null));
+
+        ticketEventRelay.relayPendingEvents();
+        ticketEventRelay.relayPendingEvents();
+
+        TicketEvent failed = reload(failing);
+        assertThat(failed.getAttempts()).isEqualTo(2);
+        assertThat(failed.getProcessedAt()).isNull();
+        assertThat(failed.getLastError()).isNotBlank();
+        TicketEvent relayed = reload(passing);
+        assertThat(relayed.getProcessedAt()).isNotNull();
+        assertThat(relayed.getAttempts()).isZero();
+    }
+
+    private TicketEvent reload(TicketEvent event) {
+        return ticketEventRepository.findById(event.getId()).orElseThrow();
+    }
+
+    @TestConfiguration
+    static class FailingHandlerConfig {
+        @Bean
+        TicketEventHandler failingHandler(TicketRepository ticketRepository) {
+            return event -> {
+                if (FAILING_TICKET_ID.equals(event.getTicketId())) {
+                    // Spring Data rejects a null id inside its transactional proxy
+                    ticketRepository.findById(null);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.ticketing.service;
+
+import com.ticketing.PostgresIntegrationTest;
+import com.ticketing.dto.TicketSummary;
+import com.ticketing.model.Comment;
+import com.ticketing.model.Priority;
+import com.ticketing.model.Role;
+import com.ticketing.model.Ticket;
+import com.ticketing.model.User;
+import com.ticketing.repository.CommentRepository;
+import com.ticketing.repository.TicketRepository;
+import com.ticketing.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Full-text search applies the caller's filters to ticket and comment matches alike, and ranks
+ * subject hits above comment hits.
+ */
+class TicketSearchTest extends PostgresIntegrationTest {
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Test
+    void userSearchOnlyReturnsOwnTickets() {
+        User owner = userRepository.save(newUser());
+        User other = userRepository.save(newUser());
+        Ticket bySubject = ticketRepository.save(new Ticket("Zyxwidget broken", "Does not start", Priority.LOW, owner));
+        Ticket byComment = ticketRepository.save(new Ticket("Printer", "Out of toner", Priority.LOW, owner));
+        commentRepository.save(new Comment("Zyxwidget driver reinstalled", byComment, owner));
+        Ticket othersTicket = ticketRepository.save(new Ticket("Zyxwidget missing", "Never delivered", Priority.LOW, other));
+        Ticket othersComment = ticketRepository.save(new Ticket("Scanner", "Jams", Priority.LOW, other));
+        commentRepository.save(new Comment("Zyxwidget again", othersComment, other));
+
+        assertThat(ticketService.searchUserTickets(owner, null, null, "zyxwid", 0, 20))
+                .extracting(TicketSummary::getId)
+                .containsExactly(bySubject.getId(), byComment.getId());
+        assertThat(ticketService.searchTickets(null, null, null, null, "zyxwid", 0, 20))
+                .extracting(TicketSummary::getId)
+                .contains(othersTicket.getId(), othersComment.getId());
+    }
+
+    private static User newUser() {
+        String name = "search" + USERS.incrementAndGet();
+        return new User(name, name + "@ticketing.test", "{noop}password", "Search", "User", Role.USER);
+    }
+}
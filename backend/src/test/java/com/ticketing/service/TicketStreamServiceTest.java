@@ -0,0 +1,85 @@
+package com.ticketing.service;
+
+import com.ticketing.PostgresIntegrationTest;
+import com.ticketing.model.Role;
+import com.ticketing.model.TicketEvent;
+import com.ticketing.model.TicketEventType;
+import com.ticketing.model.User;
+import com.ticketing.repository.TicketEventRepository;
+import com.ticketing.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * A stream is filtered with the principal it connected with, so it must not outlive a change to
+ * that user's permissions. Events reach streams through a Postgres notification, whichever
+ * instance relayed them.
+ */
+class TicketStreamServiceTest extends PostgresIntegrationTest {
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @SpyBean
+    private TicketStreamService ticketStreamService;
+
+    @Autowired
+    private TicketEventRelay ticketEventRelay;
+
+    @Autowired
+    private TicketEventRepository ticketEventRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void closesStreamWhenUserRoleChanges() {
+        User agent = userRepository.save(newUser(Role.SUPPORT_AGENT));
+        User other = userRepository.save(newUser(Role.SUPPORT_AGENT));
+        int before = ticketStreamService.getSubscriberCount();
+        ticketStreamService.subscribe(agent);
+        ticketStreamService.subscribe(other);
+
+        User demoted = newUser(Role.USER);
+        demoted.setEmail(agent.getEmail());
+        userService.updateUser(agent.getId(), demoted);
+        ticketStreamService.sendHeartbeats();
+
+        assertThat(ticketStreamService.getSubscriberCount()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void closesStreamWhenUserIsDeleted() {
+        User user = userRepository.save(newUser(Role.USER));
+        int before = ticketStreamService.getSubscriberCount();
+        ticketStreamService.subscribe(user);
+
+        userService.deleteUser(user.getId());
+        ticketStreamService.sendHeartbeats();
+
+        assertThat(ticketStreamService.getSubscriberCount()).isEqualTo(before);
+    }
+
+    @Test
+    void relayedEventIsPublishedThroughNotification() {
+        ticketStreamService.subscribe(userRepository.save(newUser(Role.ADMIN)));
+        TicketEvent event = ticketEventRepository.save(new TicketEvent(TicketEventType.TICKET_CREATED, -3L, null));
+
+        ticketEventRelay.relayPendingEvents();
+
+        verify(ticketStreamService, timeout(5000)).publish(event.getId());
+    }
+
+    private static User newUser(Role role) {
+        String name = "stream" + USERS.incrementAndGet();
+        return new User(name, name + "@ticketing.test", "{noop}password", "Stream", "User", role);
+    }
+}
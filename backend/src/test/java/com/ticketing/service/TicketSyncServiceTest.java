@@ -0,0 +1,108 @@
+package com.ticketing.service;
+
+import com.ticketing.PostgresIntegrationTest;
+import com.ticketing.dto.TicketChanges;
+import com.ticketing.dto.TicketSummary;
+import com.ticketing.dto.TicketSyncToken;
+import com.ticketing.model.Priority;
+import com.ticketing.model.Role;
+import com.ticketing.model.Ticket;
+import com.ticketing.model.User;
+import com.ticketing.repository.TicketRepository;
+import com.ticketing.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Delta sync must bring a client's copy to the user's current view: tickets that left it through
+ * reassignment come back as removed, and imported tickets as changed whatever their export dates.
+ */
+class TicketSyncServiceTest extends PostgresIntegrationTest {
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private TicketSyncService ticketSyncService;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketImportService ticketImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Test
+    void reassignedTicketIsRemovedForPreviousAssignee() {
+        User creator = userRepository.save(newUser(Role.USER));
+        User first = userRepository.save(newUser(Role.SUPPORT_AGENT));
+        User second = userRepository.save(newUser(Role.SUPPORT_AGENT));
+        Ticket ticket = ticketRepository.save(new Ticket("VPN down", "Cannot connect", Priority.HIGH, creator));
+        ticketService.assignTicket(ticket.getId(), first, creator);
+        TicketSyncToken since = tokenNow();
+
+        ticketService.assignTicket(ticket.getId(), second, creator);
+
+        TicketChanges forFirst = ticketSyncService.getChanges(first, since, 0);
+        assertThat(ids(forFirst.getChanged())).doesNotContain(ticket.getId());
+        assertThat(forFirst.getRemoved()).containsExactly(ticket.getId());
+        TicketChanges forSecond = ticketSyncService.getChanges(second, since, 0);
+        assertThat(ids(forSecond.getChanged())).containsExactly(ticket.getId());
+        assertThat(forSecond.getRemoved()).isEmpty();
+    }
+
+    @Test
+    void ticketReassignedBackIsChangedNotRemoved() {
+        User creator = userRepository.save(newUser(Role.USER));
+        User first = userRepository.save(newUser(Role.SUPPORT_AGENT));
+        User second = userRepository.save(newUser(Role.SUPPORT_AGENT));
+        Ticket ticket = ticketRepository.save(new Ticket("Laptop", "Battery swelling", Priority.URGENT, creator));
+        ticketService.assignTicket(ticket.getId(), first, creator);
+        TicketSyncToken since = tokenNow();
+
+        ticketService.bulkAssign(List.of(ticket.getId()), second, creator);
+        ticketService.bulkAssign(List.of(ticket.getId()), first, creator);
+
+        TicketChanges forFirst = ticketSyncService.getChanges(first, since, 0);
+        assertThat(ids(forFirst.getChanged())).containsExactly(ticket.getId());
+        assertThat(forFirst.getRemoved()).isEmpty();
+        assertThat(ticketSyncService.getChanges(second, since, 0).getRemoved()).containsExactly(ticket.getId());
+    }
+
+    @Test
+    void importedTicketsAreChangedAtImportTime() throws Exception {
+        User creator = userRepository.save(newUser(Role.USER));
+        TicketSyncToken since = tokenNow();
+        String export = "{\"subject\":\"Legacy\",\"description\":\"From the old helpdesk\",\"creator\":\"" + creator.getUsername()
+                + "\",\"createdAt\":\"2019-03-01T10:00:00\",\"updatedAt\":\"2019-03-02T10:00:00\"}";
+
+        ticketImportService.importTickets(new ByteArrayInputStream(export.getBytes(StandardCharsets.UTF_8)));
+
+        List<TicketSummary> changed = ticketSyncService.getChanges(creator, since, 0).getChanged();
+        assertThat(changed).extracting(TicketSummary::getSubject).containsExactly("Legacy");
+    }
+
+    private static TicketSyncToken tokenNow() {
+        return new TicketSyncToken(LocalDateTime.now(), 0L);
+    }
+
+    private static List<Long> ids(List<TicketSummary> tickets) {
+        return tickets.stream().map(TicketSummary::getId).toList();
+    }
+
+    private static User newUser(Role role) {
+        String name = "sync" + USERS.incrementAndGet();
+        return new User(name, name + "@ticketing.test", "{noop}password", "Sync", "User", role);
+    }
+}
@@ -4,7 +4,7 @@ import { useState } from 'react'
 import { useAuth } from '@/contexts/AuthContext'
 import ProtectedRoute from '@/components/ProtectedRoute'
 import Navbar from '@/components/Navbar'
-import { useQuery, useMutation, useQueryClient } from 'react-query'
+import { useQuery, useInfiniteQuery, useMutation, useQueryClient } from 'react-query'
 import { adminAPI } from '@/services/api'
 import toast from 'react-hot-toast'
 import { 
@@ -25,7 +25,17 @@ export default function AdminPanel() {
 
   const { data: stats } = useQuery('admin-stats', adminAPI.getStats)
   const { data: users } = useQuery('admin-users', adminAPI.getUsers)
-  const { data: tickets } = useQuery('admin-tickets', adminAPI.getAllTickets)
+  const {
+    data: tickets,
+    fetchNextPage,
+    hasNextPage,
+    isFetchingNextPage,
+  } = useInfiniteQuery(
+    'admin-tickets',
+    ({ pageParam }) => adminAPI.getAllTickets({ cursor: pageParam }),
+    { getNextPageParam: (lastPage) => lastPage.data.nextCursor || undefined }
+  )
+  const allTickets = tickets?.pages.flatMap((page) => page.data.items) || []
 
   const deleteUserMutation = useMutation(
     (userId: number) => adminAPI.deleteUser(userId),
@@ -320,7 +330,7 @@ export default function AdminPanel() {
 
                 <div className="bg-white shadow overflow-hidden sm:rounded-md">
                   <ul className="divide-y divide-gray-200">
-                    {tickets?.data?.map((ticket: any) => (
+                    {allTickets.map((ticket: any) => (
                       <li key={ticket.id} className="px-6 py-4">
                         <div className="flex items-center justify-between">
                           <div className="flex items-center">
@@ -356,6 +366,17 @@ export default function AdminPanel() {
                       </li>
                     ))}
                   </ul>
+                  {hasNextPage && (
+                    <div className="px-6 py-4 border-t border-gray-200 text-center">
+                      <button
+                        onClick={() => fetchNextPage()}
+                        disabled={isFetchingNextPage}
+                        className="text-sm font-medium text-primary-600 hover:text-primary-900 disabled:opacity-50"
+                      >
+                        {isFetchingNextPage ? 'Loading...' : 'Load more'}
+                      </button>
+                    </div>
+                  )}
                 </div>
               </div>
             )}
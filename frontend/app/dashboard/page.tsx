@@ -3,8 +3,9 @@
 import { useAuth } from '../../contexts/AuthContext'
 import ProtectedRoute from '../../components/ProtectedRoute'
 import Navbar from '../../components/Navbar'
-import { useQuery } from 'react-query'
-import { ticketAPI, adminAPI } from '../../services/api'
+import { useEffect } from 'react'
+import { useQuery, useQueryClient } from 'react-query'
+import { ticketAPI, adminAPI, subscribeToTicketEvents } from '../../services/api'
 import { 
   TicketIcon, 
   ExclamationTriangleIcon,
@@ -24,13 +25,31 @@ interface DashboardStats {
 
 export default function Dashboard() {
   const { user } = useAuth()
+  const queryClient = useQueryClient()
   
-  const { data: tickets = [] } = useQuery('tickets', ticketAPI.getTickets)
+  // Refresh only when the server reports a change instead of re-fetching on every focus
+  const { data: tickets = [] } = useQuery('tickets', () => ticketAPI.getTickets(), {
+    refetchOnWindowFocus: false,
+  })
+
+  useEffect(() => {
+    if (!user) return
+    return subscribeToTicketEvents(() => {
+      queryClient.invalidateQueries('tickets')
+      queryClient.invalidateQueries('ticket-stats')
+      queryClient.invalidateQueries('admin-stats')
+    })
+  }, [user, queryClient])
   const { data: adminStats } = useQuery(
     'admin-stats', 
     adminAPI.getStats, 
     { enabled: user?.role === 'ADMIN' }
   )
+  // The ticket list is paged, so counts come from the server rather than from the first page
+  const { data: ticketStats } = useQuery('ticket-stats', ticketAPI.getTicketStats, {
+    enabled: !!user && user.role !== 'ADMIN',
+    refetchOnWindowFocus: false,
+  })
 
   const getStats = (): DashboardStats => {
     if (user?.role === 'ADMIN' && adminStats?.data) {
@@ -42,18 +61,19 @@ export default function Dashboard() {
       }
     }
     
-    const userTickets = (tickets as any)?.data || []
+    const counts = ticketStats?.data
     return {
-      totalTickets: userTickets.length,
-      openTickets: userTickets.filter((t: any) => t.status === 'OPEN').length,
-      inProgressTickets: userTickets.filter((t: any) => t.status === 'IN_PROGRESS').length,
-      resolvedTickets: userTickets.filter((t: any) => t.status === 'RESOLVED').length,
-      myTickets: userTickets.filter((t: any) => t.creator.id === user?.id).length,
+      totalTickets: counts?.total || 0,
+      openTickets: counts?.open || 0,
+      inProgressTickets: counts?.inProgress || 0,
+      resolvedTickets: counts?.resolved || 0,
+      // Only a USER's scope is exactly the tickets they created; agents also see assigned ones
+      myTickets: user?.role === 'USER' ? counts?.total || 0 : undefined,
     }
   }
 
   const stats = getStats()
-  const recentTickets = ((tickets as any)?.data || []).slice(0, 5)
+  const recentTickets = ((tickets as any)?.data?.items || []).slice(0, 5)
 
   const statCards = [
     {
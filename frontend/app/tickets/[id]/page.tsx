@@ -93,33 +93,41 @@ export default function TicketDetail() {
   )
 
   const updateStatusMutation = useMutation(
-    (status: string) => ticketAPI.updateTicketStatus(ticketId, status),
+    (status: string) => ticketAPI.updateTicketStatus(ticketId, status, ticket?.version),
     {
       onSuccess: () => {
         queryClient.invalidateQueries(['ticket', ticketId])
         toast.success('Status updated successfully')
       },
       onError: (error: any) => {
+        if (error.response?.status === 412) {
+          // Someone else changed the ticket first; show their version
+          queryClient.invalidateQueries(['ticket', ticketId])
+        }
         toast.error(error.response?.data?.message || 'Failed to update status')
       }
     }
   )
 
   const assignTicketMutation = useMutation(
-    (assigneeId: number) => ticketAPI.assignTicket(ticketId, assigneeId),
+    (assigneeId: number) => ticketAPI.assignTicket(ticketId, assigneeId, ticket?.version),
     {
       onSuccess: () => {
         queryClient.invalidateQueries(['ticket', ticketId])
         toast.success('Ticket assigned successfully')
       },
       onError: (error: any) => {
+        if (error.response?.status === 412) {
+          // Someone else changed the ticket first; show their version
+          queryClient.invalidateQueries(['ticket', ticketId])
+        }
         toast.error(error.response?.data?.message || 'Failed to assign ticket')
       }
     }
   )
 
   const rateTicketMutation = useMutation(
-    () => ticketAPI.rateTicket(ticketId, rating, feedback),
+    () => ticketAPI.rateTicket(ticketId, rating, feedback, ticket?.version),
     {
       onSuccess: () => {
         queryClient.invalidateQueries(['ticket', ticketId])
@@ -129,6 +137,10 @@ export default function TicketDetail() {
         toast.success('Rating submitted successfully')
       },
       onError: (error: any) => {
+        if (error.response?.status === 412) {
+          // Someone else changed the ticket first; show their version
+          queryClient.invalidateQueries(['ticket', ticketId])
+        }
         toast.error(error.response?.data?.message || 'Failed to submit rating')
       }
     }
@@ -60,32 +60,118 @@ export const authAPI = {
   }) => api.post('/auth/signup', userData),
 }
 
+// Sends the version the user was looking at, so a write based on a stale view is rejected with 412
+const ifMatch = (version?: number) =>
+  version !== undefined ? { 'If-Match': `"${version}"` } : {}
+
 export const ticketAPI = {
-  getTickets: () => api.get('/tickets'),
+  getTickets: (params?: { cursor?: string; size?: number }) =>
+    api.get('/tickets', { params }),
+  getTicketStats: () => api.get('/tickets/stats'),
   getTicket: (id: number) => api.get(`/tickets/${id}`),
+  getTicketChanges: (since: string, size?: number) =>
+    api.get('/tickets/changes', { params: { since, size } }),
   createTicket: (data: {
     subject: string
     description: string
     priority: string
   }) => api.post('/tickets', data),
-  updateTicketStatus: (id: number, status: string) =>
-    api.put(`/tickets/${id}/status`, { status }),
-  assignTicket: (id: number, assigneeId: number) =>
-    api.put(`/tickets/${id}/assign`, { assigneeId }),
+  updateTicketStatus: (id: number, status: string, version?: number) =>
+    api.put(`/tickets/${id}/status`, { status }, { headers: ifMatch(version) }),
+  assignTicket: (id: number, assigneeId: number, version?: number) =>
+    api.put(`/tickets/${id}/assign`, { assigneeId }, { headers: ifMatch(version) }),
   addComment: (id: number, content: string) =>
     api.post(`/tickets/${id}/comments`, { content }),
   getComments: (id: number) => api.get(`/tickets/${id}/comments`),
-  rateTicket: (id: number, rating: number, feedback?: string) =>
-    api.post(`/tickets/${id}/rate`, { rating, feedback }),
+  rateTicket: (id: number, rating: number, feedback?: string, version?: number) =>
+    api.post(`/tickets/${id}/rate`, { rating, feedback }, { headers: ifMatch(version) }),
+  getAttachments: (id: number) => api.get(`/tickets/${id}/attachments`),
+  uploadAttachment: (id: number, file: File) => {
+    const formData = new FormData()
+    formData.append('file', file)
+    return api.post(`/tickets/${id}/attachments`, formData, {
+      headers: { 'Content-Type': 'multipart/form-data' },
+    })
+  },
+  downloadAttachment: (id: number, attachmentId: number) =>
+    api.get(`/tickets/${id}/attachments/${attachmentId}`, { responseType: 'blob' }),
   searchTickets: (params: {
     status?: string
     priority?: string
     assigneeId?: number
     creatorId?: number
     search?: string
+    page?: number
+    size?: number
   }) => api.get('/tickets/search', { params }),
 }
 
+export interface TicketStreamEvent {
+  id: number
+  type: string
+  ticketId?: number
+  ticketIds?: number[]
+  status?: string
+  assigneeId?: number
+  commentId?: number
+  occurredAt: string
+}
+
+// Server-sent ticket events. EventSource cannot send the Authorization header,
+// so the stream is read with fetch. Returns a function that closes the stream.
+export const subscribeToTicketEvents = (onEvent: (event: TicketStreamEvent) => void) => {
+  const controller = new AbortController()
+
+  const connect = async () => {
+    const token = Cookies.get('token')
+    const response = await fetch(`${API_BASE_URL}/tickets/stream`, {
+      headers: {
+        Accept: 'text/event-stream',
+        ...(token ? { Authorization: `Bearer ${token}` } : {}),
+      },
+      signal: controller.signal,
+    })
+    if (!response.ok || !response.body) {
+      throw new Error(`Ticket stream failed with status ${response.status}`)
+    }
+
+    const reader = response.body.pipeThrough(new TextDecoderStream()).getReader()
+    let buffer = ''
+    while (true) {
+      const { value, done } = await reader.read()
+      if (done) break
+      buffer += value
+      const messages = buffer.split('\n\n')
+      buffer = messages.pop() || ''
+      for (const message of messages) {
+        const data = message
+          .split('\n')
+          .filter((line) => line.startsWith('data:'))
+          .map((line) => line.slice(5).trim())
+          .join('\n')
+        if (data) {
+          onEvent(JSON.parse(data))
+        }
+      }
+    }
+  }
+
+  const run = async () => {
+    while (!controller.signal.aborted) {
+      try {
+        await connect()
+      } catch (error) {
+        if (controller.signal.aborted) return
+        console.log('Ticket stream disconnected, retrying')
+      }
+      await new Promise((resolve) => setTimeout(resolve, 5000))
+    }
+  }
+  run()
+
+  return () => controller.abort()
+}
+
 export const adminAPI = {
   getUsers: () => api.get('/admin/users'),
   createUser: (userData: {
@@ -99,12 +185,19 @@ export const adminAPI = {
   updateUser: (id: number, userData: any) => api.put(`/admin/users/${id}`, userData),
   deleteUser: (id: number) => api.delete(`/admin/users/${id}`),
   getSupportAgents: () => api.get('/admin/users/support-agents'),
-  getAllTickets: () => api.get('/admin/tickets'),
+  getAllTickets: (params?: { cursor?: string; size?: number }) =>
+    api.get('/admin/tickets', { params }),
   forceAssignTicket: (id: number, assigneeId: number) =>
     api.put(`/admin/tickets/${id}/force-assign`, { assigneeId }),
   forceUpdateTicketStatus: (id: number, status: string) =>
     api.put(`/admin/tickets/${id}/force-status`, { status }),
   deleteTicket: (id: number) => api.delete(`/admin/tickets/${id}`),
+  bulkAssignTickets: (ticketIds: number[], assigneeId: number) =>
+    api.put('/admin/tickets/bulk/assign', { ticketIds, assigneeId }),
+  bulkUpdateTicketStatus: (ticketIds: number[], status: string) =>
+    api.put('/admin/tickets/bulk/status', { ticketIds, status }),
+  bulkDeleteTickets: (ticketIds: number[]) =>
+    api.post('/admin/tickets/bulk/delete', { ticketIds }),
   getStats: () => api.get('/admin/stats'),
 }
 